@@ -0,0 +1,83 @@
+package com.example.task_manager.benchmark;
+
+import com.example.task_manager.model.Folder;
+import com.example.task_manager.model.Task;
+import com.example.task_manager.model.TaskAssignee;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+final class BenchmarkData {
+
+	static final String USER_ID = "bench-user";
+	static final String FOLDER_ID = "bench-folder";
+
+	private BenchmarkData() {
+	}
+
+	/** One chain, each folder nested in the previous one. */
+	static List<Folder> deepFolders(int count) {
+		List<Folder> folders = new ArrayList<>();
+		for (int i = 0; i < count; i++) {
+			folders.add(folder(i, i == 0 ? null : "folder-" + (i - 1)));
+		}
+		return folders;
+	}
+
+	/** One root with every other folder as its direct child. */
+	static List<Folder> wideFolders(int count) {
+		List<Folder> folders = new ArrayList<>();
+		for (int i = 0; i < count; i++) {
+			folders.add(folder(i, i == 0 ? null : "folder-0"));
+		}
+		return folders;
+	}
+
+	static List<Task> tasks(int count) {
+		List<Task> tasks = new ArrayList<>();
+		LocalDateTime now = LocalDateTime.now();
+		for (int i = 0; i < count; i++) {
+			tasks.add(Task.builder()
+					.id("task-" + i)
+					.title("Task " + i)
+					.description("Description of task " + i + " with a few more words to serialize")
+					.status(Task.Status.values()[i % Task.Status.values().length])
+					.priority(Task.Priority.values()[i % Task.Priority.values().length])
+					.folderId(FOLDER_ID)
+					.creatorId(USER_ID)
+					.startDate(LocalDate.now())
+					.endDate(LocalDate.now().plusDays(i % 30))
+					.progress(i % 101)
+					.createdAt(now)
+					.updatedAt(now)
+					.version((long) i)
+					.build());
+		}
+		return tasks;
+	}
+
+	static List<TaskAssignee> assignees(List<Task> tasks, int perTask) {
+		List<TaskAssignee> assignees = new ArrayList<>();
+		for (Task task : tasks) {
+			for (int u = 0; u < perTask; u++) {
+				assignees.add(TaskAssignee.builder().taskId(task.getId()).userId("user-" + u).build());
+			}
+		}
+		return assignees;
+	}
+
+	private static Folder folder(int i, String parentId) {
+		LocalDateTime now = LocalDateTime.now();
+		return Folder.builder()
+				.id("folder-" + i)
+				.name("Folder " + i)
+				.userId(USER_ID)
+				.parentId(parentId)
+				.createdAt(now)
+				.updatedAt(now)
+				.build();
+	}
+
+}
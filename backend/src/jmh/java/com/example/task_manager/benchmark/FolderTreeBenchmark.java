@@ -0,0 +1,70 @@
+package com.example.task_manager.benchmark;
+
+import com.example.task_manager.dto.FolderDTO;
+import com.example.task_manager.mapper.FolderMapperImpl;
+import com.example.task_manager.model.Folder;
+import com.example.task_manager.service.FolderService;
+import com.example.task_manager.service.FolderTreeCache;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * FolderService.getFolderTree: building the tree on a cache miss, and serving
+ * it from FolderTreeCache.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class FolderTreeBenchmark {
+
+	public enum Shape {
+		DEEP, WIDE
+	}
+
+	@Param({ "DEEP", "WIDE" })
+	private Shape shape;
+
+	@Param({ "100", "2000" })
+	private int folders;
+
+	private FolderTreeCache folderTreeCache;
+	private FolderService folderService;
+
+	@Setup
+	public void setUp() {
+		List<Folder> data = shape == Shape.DEEP
+				? BenchmarkData.deepFolders(folders)
+				: BenchmarkData.wideFolders(folders);
+		FolderMapperImpl folderMapper = new FolderMapperImpl();
+		folderTreeCache = new FolderTreeCache(folderMapper, 16);
+		folderService = new FolderService(InMemoryRepositories.folders(data), folderMapper, folderTreeCache, null,
+				null);
+	}
+
+	@Benchmark
+	public List<FolderDTO> buildTree() {
+		folderTreeCache.invalidate(BenchmarkData.USER_ID);
+		return folderService.getFolderTree(BenchmarkData.USER_ID);
+	}
+
+	@Benchmark
+	public List<FolderDTO> cachedTree() {
+		return folderService.getFolderTree(BenchmarkData.USER_ID);
+	}
+
+}
@@ -0,0 +1,72 @@
+package com.example.task_manager.benchmark;
+
+import com.example.task_manager.model.Folder;
+import com.example.task_manager.model.Task;
+import com.example.task_manager.model.TaskAssignee;
+import com.example.task_manager.repository.FolderRepository;
+import com.example.task_manager.repository.TaskAssigneeRepository;
+import com.example.task_manager.repository.TaskRepository;
+
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Repository stand-ins answering the derived queries used on the benchmarked
+ * paths from pre-indexed lists, so benchmarks measure service code rather than
+ * Mongo. Any other repository method throws.
+ */
+final class InMemoryRepositories {
+
+	private InMemoryRepositories() {
+	}
+
+	static FolderRepository folders(List<Folder> folders) {
+		Map<String, List<Folder>> byUser = folders.stream()
+				.filter(f -> !f.isDeleted())
+				.collect(Collectors.groupingBy(Folder::getUserId));
+		return stub(FolderRepository.class, Map.of(
+				"findAllByUserIdAndDeletedFalse", args -> new ArrayList<>(byUser.getOrDefault(args[0], List.of()))));
+	}
+
+	static TaskRepository tasks(List<Task> tasks) {
+		Map<String, List<Task>> byFolder = tasks.stream()
+				.filter(t -> !t.isDeleted())
+				.collect(Collectors.groupingBy(Task::getFolderId));
+		return stub(TaskRepository.class, Map.of(
+				"findAllByFolderIdAndDeletedFalse", args -> new ArrayList<>(byFolder.getOrDefault(args[0], List.of()))));
+	}
+
+	static TaskAssigneeRepository assignees(List<TaskAssignee> assignees) {
+		Map<String, List<TaskAssignee>> byTask = assignees.stream()
+				.collect(Collectors.groupingBy(TaskAssignee::getTaskId));
+		return stub(TaskAssigneeRepository.class, Map.of(
+				"findAllByTaskId", args -> new ArrayList<>(byTask.getOrDefault(args[0], List.of())),
+				"findAllByTaskIdIn", args -> ((Collection<?>) args[0]).stream()
+						.flatMap(id -> byTask.getOrDefault(id, List.of()).stream())
+						.collect(Collectors.toList())));
+	}
+
+	private static <T> T stub(Class<T> type, Map<String, Function<Object[], Object>> answers) {
+		return type.cast(Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[] { type },
+				(proxy, method, args) -> {
+					Function<Object[], Object> answer = answers.get(method.getName());
+					if (answer != null) {
+						return answer.apply(args);
+					}
+					if (method.getDeclaringClass() == Object.class) {
+						return switch (method.getName()) {
+							case "hashCode" -> System.identityHashCode(proxy);
+							case "equals" -> proxy == args[0];
+							default -> type.getSimpleName() + " stand-in";
+						};
+					}
+					throw new UnsupportedOperationException(type.getSimpleName() + "." + method.getName());
+				}));
+	}
+
+}
@@ -0,0 +1,97 @@
+package com.example.task_manager.benchmark;
+
+import com.example.task_manager.model.User;
+import com.example.task_manager.security.JwtUtils;
+import com.example.task_manager.security.TokenRevocationCache;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.security.core.userdetails.UserDetails;
+
+import java.util.Date;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JwtUtils token generation and the per-request parse/validate path.
+ * filterPerCallParser replays the token work the auth filter used to do per
+ * request (three parses, each building a new key and parser);
+ * filterSharedParser is the current path. Neither includes the user lookup
+ * the old filter also did.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JwtBenchmark {
+
+	// Same key as JwtUtils
+	private static final String SECRET = "5367566B59703373367639792F423F4528482B4D6251655468576D5A71347437";
+
+	private final JwtUtils jwtUtils = new JwtUtils(86400000);
+	private final TokenRevocationCache revocationCache = new TokenRevocationCache(jwtUtils);
+	private User user;
+	private UserDetails userDetails;
+	private String token;
+
+	@Setup
+	public void setUp() {
+		user = User.builder().id("user-1").username("bench").role(User.Role.USER).build();
+		userDetails = org.springframework.security.core.userdetails.User.withUsername("bench")
+				.password("unused")
+				.roles("USER")
+				.build();
+		token = jwtUtils.generateToken(user, userDetails);
+	}
+
+	@Benchmark
+	public String generate() {
+		return jwtUtils.generateToken(user, userDetails);
+	}
+
+	@Benchmark
+	public Claims parse() {
+		return jwtUtils.parseClaims(token);
+	}
+
+	@Benchmark
+	public boolean validate() {
+		return jwtUtils.isTokenValid(token, userDetails);
+	}
+
+	@Benchmark
+	public boolean filterPerCallParser() {
+		String username = parseWithNewParser(token).getSubject();
+		return parseWithNewParser(token).getSubject().equals(username)
+				&& !parseWithNewParser(token).getExpiration().before(new Date());
+	}
+
+	@Benchmark
+	public String filterSharedParser() {
+		Claims claims = jwtUtils.parseClaims(token);
+		if (revocationCache.isRevoked(claims)) {
+			return null;
+		}
+		return claims.get(JwtUtils.CLAIM_ROLE, String.class);
+	}
+
+	private static Claims parseWithNewParser(String token) {
+		return Jwts.parserBuilder()
+				.setSigningKey(Keys.hmacShaKeyFor(SECRET.getBytes()))
+				.build()
+				.parseClaimsJws(token)
+				.getBody();
+	}
+
+}
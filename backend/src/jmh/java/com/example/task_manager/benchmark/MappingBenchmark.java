@@ -0,0 +1,57 @@
+package com.example.task_manager.benchmark;
+
+import com.example.task_manager.dto.FolderDTO;
+import com.example.task_manager.dto.TaskDTO;
+import com.example.task_manager.mapper.FolderMapperImpl;
+import com.example.task_manager.mapper.TaskMapperImpl;
+import com.example.task_manager.model.Folder;
+import com.example.task_manager.model.Task;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/** MapStruct list mapping of tasks and folders. */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MappingBenchmark {
+
+	@Param({ "50", "1000" })
+	private int size;
+
+	private final TaskMapperImpl taskMapper = new TaskMapperImpl();
+	private final FolderMapperImpl folderMapper = new FolderMapperImpl();
+	private List<Task> tasks;
+	private List<Folder> folders;
+
+	@Setup
+	public void setUp() {
+		tasks = BenchmarkData.tasks(size);
+		folders = BenchmarkData.wideFolders(size);
+	}
+
+	@Benchmark
+	public List<TaskDTO> taskList() {
+		return taskMapper.toDTOList(tasks);
+	}
+
+	@Benchmark
+	public List<FolderDTO> folderList() {
+		return folderMapper.toDTOList(folders);
+	}
+
+}
@@ -0,0 +1,56 @@
+package com.example.task_manager.benchmark;
+
+import com.example.task_manager.dto.TaskDTO;
+import com.example.task_manager.mapper.TaskMapperImpl;
+import com.example.task_manager.model.Task;
+import com.example.task_manager.service.TaskService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * TaskService.getTasksInFolder: entity to DTO mapping plus the batched
+ * assignee lookup and join.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TaskEnrichmentBenchmark {
+
+	@Param({ "50", "500" })
+	private int tasks;
+
+	@Param({ "0", "3" })
+	private int assigneesPerTask;
+
+	private TaskService taskService;
+
+	@Setup
+	public void setUp() {
+		List<Task> data = BenchmarkData.tasks(tasks);
+		taskService = new TaskService(InMemoryRepositories.tasks(data),
+				InMemoryRepositories.assignees(BenchmarkData.assignees(data, assigneesPerTask)),
+				new TaskMapperImpl(), null, event -> {
+				}, null);
+	}
+
+	@Benchmark
+	public List<TaskDTO> getTasksInFolder() {
+		return taskService.getTasksInFolder(BenchmarkData.FOLDER_ID);
+	}
+
+}
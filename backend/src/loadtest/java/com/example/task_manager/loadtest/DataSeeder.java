@@ -0,0 +1,121 @@
+package com.example.task_manager.loadtest;
+
+import com.example.task_manager.model.Folder;
+import com.example.task_manager.model.Task;
+import com.example.task_manager.model.TaskAssignee;
+import com.example.task_manager.model.User;
+import com.example.task_manager.repository.FolderRepository;
+import com.example.task_manager.repository.TaskAssigneeRepository;
+import com.example.task_manager.repository.TaskRepository;
+import com.example.task_manager.repository.UserRepository;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Seeds users, a two-level folder tree and tasks with assignees through the
+ * application's repositories, in batches so 1M tasks fit in memory. The
+ * folders belong to the user requests are authenticated as, and a bounded
+ * sample of task ids is kept for the write traffic.
+ */
+class DataSeeder {
+
+	static final String[] WORDS = { "invoice", "deploy", "review", "design", "report", "budget", "release",
+			"migration", "audit", "onboarding", "contract", "roadmap", "backup", "campaign", "survey", "training" };
+
+	private static final int BATCH_SIZE = 5_000;
+	private static final int SAMPLE_SIZE = 10_000;
+	private static final int USERS = 50;
+
+	private final UserRepository userRepository;
+	private final FolderRepository folderRepository;
+	private final TaskRepository taskRepository;
+	private final TaskAssigneeRepository taskAssigneeRepository;
+	private final Random random = new Random(42);
+
+	final List<String> userIds = new ArrayList<>();
+	final List<String> folderIds = new ArrayList<>();
+	final List<String> taskIdSample = new ArrayList<>();
+
+	DataSeeder(UserRepository userRepository, FolderRepository folderRepository, TaskRepository taskRepository,
+			TaskAssigneeRepository taskAssigneeRepository) {
+		this.userRepository = userRepository;
+		this.folderRepository = folderRepository;
+		this.taskRepository = taskRepository;
+		this.taskAssigneeRepository = taskAssigneeRepository;
+	}
+
+	void seed(String ownerId, int folderCount, int taskCount) {
+		userIds.add(ownerId);
+		List<User> users = new ArrayList<>();
+		for (int i = 0; i < USERS; i++) {
+			users.add(User.builder().username("load-user-" + i).password("unused").role(User.Role.USER).build());
+		}
+		userRepository.saveAll(users).forEach(u -> userIds.add(u.getId()));
+
+		int roots = Math.max(1, folderCount / 10);
+		List<Folder> rootFolders = new ArrayList<>();
+		for (int i = 0; i < roots; i++) {
+			rootFolders.add(Folder.builder().name("Board " + i).userId(ownerId).build());
+		}
+		folderRepository.saveAll(rootFolders).forEach(f -> folderIds.add(f.getId()));
+		List<Folder> children = new ArrayList<>();
+		for (int i = roots; i < folderCount; i++) {
+			children.add(Folder.builder().name("List " + i).userId(ownerId)
+					.parentId(folderIds.get(i % roots)).build());
+		}
+		folderRepository.saveAll(children).forEach(f -> folderIds.add(f.getId()));
+
+		int seen = 0;
+		for (int offset = 0; offset < taskCount; offset += BATCH_SIZE) {
+			List<Task> tasks = new ArrayList<>();
+			for (int i = offset; i < Math.min(taskCount, offset + BATCH_SIZE); i++) {
+				tasks.add(task(i));
+			}
+			List<TaskAssignee> assignees = new ArrayList<>();
+			for (Task saved : taskRepository.saveAll(tasks)) {
+				saved.getAssigneeIds().forEach(userId -> assignees.add(
+						TaskAssignee.builder().taskId(saved.getId()).userId(userId).build()));
+				// Reservoir sample: every seeded task is equally likely to be written to
+				if (taskIdSample.size() < SAMPLE_SIZE) {
+					taskIdSample.add(saved.getId());
+				} else {
+					int slot = random.nextInt(seen + 1);
+					if (slot < SAMPLE_SIZE) {
+						taskIdSample.set(slot, saved.getId());
+					}
+				}
+				seen++;
+			}
+			taskAssigneeRepository.saveAll(assignees);
+			System.out.printf("Seeded %d/%d tasks%n", Math.min(taskCount, offset + BATCH_SIZE), taskCount);
+		}
+	}
+
+	private Task task(int i) {
+		List<String> assigneeIds = new ArrayList<>();
+		int assigneeCount = random.nextInt(3);
+		while (assigneeIds.size() < assigneeCount) {
+			String userId = userIds.get(random.nextInt(userIds.size()));
+			if (!assigneeIds.contains(userId)) {
+				assigneeIds.add(userId);
+			}
+		}
+		return Task.builder()
+				.title(word() + " " + word() + " " + i)
+				.description("Follow up on the " + word() + " and the " + word() + " before the " + word())
+				.status(Task.Status.values()[random.nextInt(Task.Status.values().length)])
+				.priority(Task.Priority.values()[random.nextInt(Task.Priority.values().length)])
+				.progress(random.nextInt(101))
+				.folderId(folderIds.get(random.nextInt(folderIds.size())))
+				.creatorId(userIds.get(0))
+				.assigneeIds(assigneeIds)
+				.build();
+	}
+
+	String word() {
+		return WORDS[random.nextInt(WORDS.length)];
+	}
+
+}
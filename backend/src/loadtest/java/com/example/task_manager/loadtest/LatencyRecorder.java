@@ -0,0 +1,88 @@
+package com.example.task_manager.loadtest;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Raw latency samples for one worker thread, merged after the run. Keeping
+ * every sample (8 bytes each) gives exact percentiles without sharing state
+ * between workers while the run is measured.
+ */
+class LatencyRecorder {
+
+	private final Map<String, Samples> samples = new TreeMap<>();
+
+	void record(String endpoint, long nanos, boolean error) {
+		samples.computeIfAbsent(endpoint, e -> new Samples()).add(nanos, error);
+	}
+
+	static Map<String, Object> report(List<LatencyRecorder> recorders, double seconds) {
+		Map<String, Samples> merged = new TreeMap<>();
+		Samples total = new Samples();
+		for (LatencyRecorder recorder : recorders) {
+			recorder.samples.forEach((endpoint, s) -> {
+				merged.computeIfAbsent(endpoint, e -> new Samples()).addAll(s);
+				total.addAll(s);
+			});
+		}
+		Map<String, Object> endpoints = new LinkedHashMap<>();
+		merged.forEach((endpoint, s) -> endpoints.put(endpoint, s.summary(seconds)));
+		Map<String, Object> report = new LinkedHashMap<>();
+		report.put("total", total.summary(seconds));
+		report.put("endpoints", endpoints);
+		return report;
+	}
+
+	private static final class Samples {
+		private long[] nanos = new long[1024];
+		private int size;
+		private long errors;
+
+		void add(long value, boolean error) {
+			if (size == nanos.length) {
+				nanos = Arrays.copyOf(nanos, size * 2);
+			}
+			nanos[size++] = value;
+			if (error) {
+				errors++;
+			}
+		}
+
+		void addAll(Samples other) {
+			for (int i = 0; i < other.size; i++) {
+				add(other.nanos[i], false);
+			}
+			errors += other.errors;
+		}
+
+		Map<String, Object> summary(double seconds) {
+			long[] sorted = Arrays.copyOf(nanos, size);
+			Arrays.sort(sorted);
+			Map<String, Object> summary = new LinkedHashMap<>();
+			summary.put("requests", size);
+			summary.put("errors", errors);
+			summary.put("throughputPerSecond", round(size / seconds));
+			summary.put("p50Ms", millis(sorted, 0.50));
+			summary.put("p90Ms", millis(sorted, 0.90));
+			summary.put("p99Ms", millis(sorted, 0.99));
+			summary.put("maxMs", millis(sorted, 1.0));
+			return summary;
+		}
+
+		private static double millis(long[] sorted, double quantile) {
+			if (sorted.length == 0) {
+				return 0;
+			}
+			int index = (int) Math.ceil(quantile * sorted.length) - 1;
+			return round(sorted[Math.max(0, index)] / 1_000_000.0);
+		}
+
+		private static double round(double value) {
+			return Math.round(value * 100) / 100.0;
+		}
+	}
+
+}
@@ -0,0 +1,225 @@
+package com.example.task_manager.loadtest;
+
+import com.example.task_manager.TaskManagerApplication;
+import com.example.task_manager.config.WorkerExecutors;
+import com.example.task_manager.repository.FolderRepository;
+import com.example.task_manager.repository.TaskAssigneeRepository;
+import com.example.task_manager.repository.TaskRepository;
+import com.example.task_manager.repository.UserRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.mongodb.ConnectionString;
+import com.mongodb.client.MongoClient;
+import com.mongodb.client.MongoClients;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.Function;
+
+/**
+ * Boots the application against a local mongod, seeds it through the
+ * repositories and drives a weighted mix of board reads and writes over HTTP
+ * from a fixed number of closed-loop workers. Latency percentiles and
+ * throughput per endpoint are written as JSON.
+ *
+ * Options (--name=value): tasks (10000), folders (tasks/100, at least 20),
+ * concurrency (16), warmup seconds (10), duration seconds (60),
+ * mongo-uri (mongodb://localhost:27017/task_manager_loadtest),
+ * report (target/loadtest-report.json), virtual-threads (false),
+ * tomcat-threads (200).
+ *
+ * To compare request threading modes, run the same workload twice on a Java
+ * 21 runtime at a concurrency above the Tomcat pool size; the
+ * loadtest-threads profile does that and hands both reports to
+ * ThreadingComparison. --virtual-threads=true is refused on older runtimes,
+ * where the application would silently fall back to platform threads.
+ */
+public final class LoadTest {
+
+	private record Endpoint(String name, int weight, Function<Random, HttpRequest> request) {
+	}
+
+	private LoadTest() {
+	}
+
+	public static void main(String[] args) throws Exception {
+		Map<String, String> options = parse(args);
+		int tasks = intOption(options, "tasks", 10_000);
+		int folders = intOption(options, "folders", Math.max(20, tasks / 100));
+		int concurrency = intOption(options, "concurrency", 16);
+		int warmupSeconds = intOption(options, "warmup", 10);
+		int durationSeconds = intOption(options, "duration", 60);
+		String mongoUri = options.getOrDefault("mongo-uri", "mongodb://localhost:27017/task_manager_loadtest");
+		Path reportPath = Path.of(options.getOrDefault("report", "target/loadtest-report.json"));
+		boolean virtualThreads = Boolean.parseBoolean(options.getOrDefault("virtual-threads", "false"));
+		int tomcatThreads = intOption(options, "tomcat-threads", 200);
+		if (virtualThreads && Runtime.version().feature() < 21) {
+			throw new IllegalStateException("--virtual-threads=true needs a Java 21 runtime, running on "
+					+ Runtime.version() + "; point -Dloadtest.java at a Java 21 java executable");
+		}
+
+		// Dropped before startup so DataInitializer recreates the default users
+		try (MongoClient client = MongoClients.create(mongoUri)) {
+			client.getDatabase(new ConnectionString(mongoUri).getDatabase()).drop();
+		}
+		ConfigurableApplicationContext context = new SpringApplicationBuilder(TaskManagerApplication.class).run(
+				"--spring.data.mongodb.uri=" + mongoUri,
+				"--server.port=0",
+				"--management.server.port=-1",
+				"--spring.threads.virtual.enabled=" + virtualThreads,
+				"--server.tomcat.threads.max=" + tomcatThreads,
+				"--logging.level.org.springframework.data.mongodb.core.MongoTemplate=INFO");
+
+		String ownerId = context.getBean(UserRepository.class).findByUsername("admin").orElseThrow().getId();
+		DataSeeder seeder = new DataSeeder(context.getBean(UserRepository.class), context.getBean(FolderRepository.class),
+				context.getBean(TaskRepository.class), context.getBean(TaskAssigneeRepository.class));
+		long seedStart = System.nanoTime();
+		seeder.seed(ownerId, folders, tasks);
+		double seedSeconds = (System.nanoTime() - seedStart) / 1e9;
+
+		String baseUrl = "http://localhost:" + context.getEnvironment().getProperty("local.server.port") + "/api";
+		List<Endpoint> endpoints = endpoints(baseUrl, seeder);
+		int totalWeight = endpoints.stream().mapToInt(Endpoint::weight).sum();
+		HttpClient http = HttpClient.newBuilder()
+				.version(HttpClient.Version.HTTP_1_1)
+				.connectTimeout(Duration.ofSeconds(5))
+				.build();
+
+		long measureFrom = System.nanoTime() + warmupSeconds * 1_000_000_000L;
+		long deadline = measureFrom + durationSeconds * 1_000_000_000L;
+		ExecutorService workers = Executors.newFixedThreadPool(concurrency);
+		List<Future<LatencyRecorder>> results = new ArrayList<>();
+		for (int w = 0; w < concurrency; w++) {
+			Random random = new Random(w);
+			results.add(workers.submit(() -> {
+				LatencyRecorder recorder = new LatencyRecorder();
+				while (System.nanoTime() < deadline) {
+					Endpoint endpoint = pick(endpoints, totalWeight, random);
+					HttpRequest request = endpoint.request().apply(random);
+					long start = System.nanoTime();
+					boolean error;
+					try {
+						error = http.send(request, HttpResponse.BodyHandlers.discarding()).statusCode() >= 400;
+					} catch (IOException e) {
+						error = true;
+					}
+					if (start >= measureFrom) {
+						recorder.record(endpoint.name(), System.nanoTime() - start, error);
+					}
+				}
+				return recorder;
+			}));
+		}
+		List<LatencyRecorder> recorders = new ArrayList<>();
+		for (Future<LatencyRecorder> result : results) {
+			recorders.add(result.get());
+		}
+		workers.shutdown();
+
+		Map<String, Object> report = new LinkedHashMap<>();
+		report.put("tasks", tasks);
+		report.put("folders", folders);
+		report.put("concurrency", concurrency);
+		report.put("durationSeconds", durationSeconds);
+		report.put("javaVersion", Runtime.version().toString());
+		report.put("virtualThreads", context.getBean(WorkerExecutors.class).isVirtual());
+		report.put("tomcatThreads", tomcatThreads);
+		report.put("seedSeconds", Math.round(seedSeconds * 10) / 10.0);
+		report.putAll(LatencyRecorder.report(recorders, durationSeconds));
+
+		ObjectMapper objectMapper = new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT);
+		Files.createDirectories(reportPath.toAbsolutePath().getParent());
+		objectMapper.writeValue(reportPath.toFile(), report);
+		System.out.println(objectMapper.writeValueAsString(report));
+		System.out.println("Report written to " + reportPath.toAbsolutePath());
+
+		context.close();
+		System.exit(0);
+	}
+
+	private static List<Endpoint> endpoints(String baseUrl, DataSeeder seeder) {
+		List<String> folderIds = seeder.folderIds;
+		List<String> taskIds = seeder.taskIdSample;
+		List<String> userIds = seeder.userIds;
+		return List.of(
+				new Endpoint("GET /folders/tree", 15, r -> get(baseUrl + "/folders/tree")),
+				new Endpoint("GET /tasks/folder/{id}", 10,
+						r -> get(baseUrl + "/tasks/folder/" + any(folderIds, r))),
+				// The board reads folders through the paged endpoint
+				new Endpoint("GET /tasks/folder/{id}/page", 30,
+						r -> get(baseUrl + "/tasks/folder/" + any(folderIds, r) + "/page?limit=200")),
+				new Endpoint("GET /tasks/assigned", 10,
+						r -> get(baseUrl + "/tasks/assigned?sort=PRIORITY&size=50")),
+				new Endpoint("GET /tasks/search", 5,
+						r -> get(baseUrl + "/tasks/search?q=" + DataSeeder.WORDS[r.nextInt(DataSeeder.WORDS.length)])),
+				new Endpoint("GET /users", 5, r -> get(baseUrl + "/users")),
+				new Endpoint("POST /tasks", 10, r -> send("POST", baseUrl + "/tasks",
+						"{\"title\":\"Load task " + r.nextInt(1_000_000) + "\",\"folderId\":\"" + any(folderIds, r)
+								+ "\",\"priority\":\"MEDIUM\"}")),
+				new Endpoint("PATCH /tasks/{id}/status", 10, r -> send("PATCH",
+						baseUrl + "/tasks/" + any(taskIds, r) + "/status?status=IN_PROGRESS", null)),
+				new Endpoint("POST /tasks/{id}/assign/{userId}", 5, r -> send("POST",
+						baseUrl + "/tasks/" + any(taskIds, r) + "/assign/" + any(userIds, r), null)));
+	}
+
+	private static Endpoint pick(List<Endpoint> endpoints, int totalWeight, Random random) {
+		int ticket = random.nextInt(totalWeight);
+		for (Endpoint endpoint : endpoints) {
+			ticket -= endpoint.weight();
+			if (ticket < 0) {
+				return endpoint;
+			}
+		}
+		throw new IllegalStateException();
+	}
+
+	private static String any(List<String> ids, Random random) {
+		return ids.get(random.nextInt(ids.size()));
+	}
+
+	private static HttpRequest get(String url) {
+		return HttpRequest.newBuilder(URI.create(url)).GET().build();
+	}
+
+	private static HttpRequest send(String method, String url, String json) {
+		return HttpRequest.newBuilder(URI.create(url))
+				.header("Content-Type", "application/json")
+				.method(method, json != null
+						? HttpRequest.BodyPublishers.ofString(json)
+						: HttpRequest.BodyPublishers.noBody())
+				.build();
+	}
+
+	private static Map<String, String> parse(String[] args) {
+		Map<String, String> options = new HashMap<>();
+		for (String arg : args) {
+			if (!arg.startsWith("--") || !arg.contains("=")) {
+				throw new IllegalArgumentException("Expected --name=value, got " + arg);
+			}
+			options.put(arg.substring(2, arg.indexOf('=')), arg.substring(arg.indexOf('=') + 1));
+		}
+		return options;
+	}
+
+	private static int intOption(Map<String, String> options, String name, int defaultValue) {
+		return options.containsKey(name) ? Integer.parseInt(options.get(name)) : defaultValue;
+	}
+
+}
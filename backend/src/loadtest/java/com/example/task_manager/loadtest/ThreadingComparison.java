@@ -0,0 +1,74 @@
+package com.example.task_manager.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+import java.nio.file.Path;
+import java.util.Iterator;
+import java.util.Map;
+
+/**
+ * Puts two LoadTest reports of the same workload side by side, one run on
+ * platform threads and one on virtual threads: throughput and p50/p99 per
+ * endpoint and in total, with the virtual/platform ratio. Refuses reports
+ * that do not differ in threading mode or were not run with the same load.
+ *
+ * Arguments: platform report, virtual report, output file.
+ */
+public final class ThreadingComparison {
+
+	private static final String[] METRICS = { "throughputPerSecond", "p50Ms", "p99Ms", "errors" };
+
+	private ThreadingComparison() {
+	}
+
+	public static void main(String[] args) throws Exception {
+		if (args.length != 3) {
+			throw new IllegalArgumentException("Expected <platform report> <virtual report> <output>");
+		}
+		ObjectMapper objectMapper = new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT);
+		JsonNode platform = objectMapper.readTree(Path.of(args[0]).toFile());
+		JsonNode virtual = objectMapper.readTree(Path.of(args[1]).toFile());
+		if (platform.path("virtualThreads").asBoolean() || !virtual.path("virtualThreads").asBoolean()) {
+			throw new IllegalStateException("Expected a platform-thread report and a virtual-thread report");
+		}
+		for (String setting : new String[] { "tasks", "concurrency", "durationSeconds" }) {
+			if (!platform.path(setting).equals(virtual.path(setting))) {
+				throw new IllegalStateException("Reports differ in " + setting);
+			}
+		}
+
+		ObjectNode comparison = objectMapper.createObjectNode();
+		comparison.put("javaVersion", virtual.path("javaVersion").asText());
+		comparison.put("concurrency", virtual.path("concurrency").asInt());
+		comparison.put("tomcatThreads", platform.path("tomcatThreads").asInt());
+		comparison.set("total", compare(objectMapper, platform.path("total"), virtual.path("total")));
+		ObjectNode endpoints = comparison.putObject("endpoints");
+		Iterator<Map.Entry<String, JsonNode>> fields = platform.path("endpoints").fields();
+		while (fields.hasNext()) {
+			Map.Entry<String, JsonNode> endpoint = fields.next();
+			endpoints.set(endpoint.getKey(), compare(objectMapper, endpoint.getValue(),
+					virtual.path("endpoints").path(endpoint.getKey())));
+		}
+
+		objectMapper.writeValue(Path.of(args[2]).toFile(), comparison);
+		System.out.println(objectMapper.writeValueAsString(comparison));
+		System.out.println("Comparison written to " + Path.of(args[2]).toAbsolutePath());
+	}
+
+	private static ObjectNode compare(ObjectMapper objectMapper, JsonNode platform, JsonNode virtual) {
+		ObjectNode result = objectMapper.createObjectNode();
+		for (String metric : METRICS) {
+			double before = platform.path(metric).asDouble();
+			double after = virtual.path(metric).asDouble();
+			ObjectNode values = result.putObject(metric);
+			values.put("platform", before);
+			values.put("virtual", after);
+			values.put("ratio", before != 0 ? Math.round(after / before * 100) / 100.0 : 0);
+		}
+		return result;
+	}
+
+}
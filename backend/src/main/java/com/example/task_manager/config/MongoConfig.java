@@ -1,9 +1,61 @@
 package com.example.task_manager.config;
 
+import com.example.task_manager.metrics.DbRoundTrips;
+import com.example.task_manager.model.Folder;
+import com.example.task_manager.model.Task;
+import org.springframework.boot.CommandLineRunner;
+import org.springframework.boot.autoconfigure.mongo.MongoClientSettingsBuilderCustomizer;
+import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.data.mongodb.config.EnableMongoAuditing;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.AddFieldsOperation;
+import org.springframework.data.mongodb.core.aggregation.AggregationPipeline;
+import org.springframework.data.mongodb.core.aggregation.ConvertOperators;
 
 @Configuration
 @EnableMongoAuditing
 public class MongoConfig {
+
+    /**
+     * Read-only view over folders exposing _id as a string (nodeId), so that
+     * $graphLookup can follow the string parentId references.
+     */
+    public static final String FOLDER_NODES_VIEW = "folder_nodes";
+
+    /** Same as FOLDER_NODES_VIEW for tasks, followed along parentTaskId. */
+    public static final String TASK_NODES_VIEW = "task_nodes";
+
+    /**
+     * Per-request round-trip counting. Per-command latency by collection comes
+     * from the mongodb.driver.commands timer that Boot registers alongside.
+     */
+    @Bean
+    public MongoClientSettingsBuilderCustomizer dbRoundTripListener() {
+        return settings -> settings.addCommandListener(new DbRoundTrips());
+    }
+
+    @Bean
+    public CommandLineRunner folderNodesView(MongoTemplate mongoTemplate) {
+        return args -> {
+            if (!mongoTemplate.collectionExists(FOLDER_NODES_VIEW)) {
+                mongoTemplate.createView(FOLDER_NODES_VIEW, Folder.class, AggregationPipeline.of(
+                        AddFieldsOperation.addField("nodeId")
+                                .withValueOf(ConvertOperators.ToString.toString("$_id"))
+                                .build()));
+            }
+        };
+    }
+
+    @Bean
+    public CommandLineRunner taskNodesView(MongoTemplate mongoTemplate) {
+        return args -> {
+            if (!mongoTemplate.collectionExists(TASK_NODES_VIEW)) {
+                mongoTemplate.createView(TASK_NODES_VIEW, Task.class, AggregationPipeline.of(
+                        AddFieldsOperation.addField("nodeId")
+                                .withValueOf(ConvertOperators.ToString.toString("$_id"))
+                                .build()));
+            }
+        };
+    }
 }
@@ -0,0 +1,218 @@
+package com.example.task_manager.config;
+
+import com.example.task_manager.model.Folder;
+import com.example.task_manager.model.NotificationOutbox;
+import com.example.task_manager.model.Task;
+import com.example.task_manager.model.TaskAssignee;
+import com.example.task_manager.model.User;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.Document;
+import org.springframework.boot.CommandLineRunner;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.Aggregation;
+import org.springframework.data.mongodb.core.aggregation.AggregationOptions;
+import org.springframework.data.mongodb.core.index.Index;
+import org.springframework.data.mongodb.core.index.IndexDefinition;
+import org.springframework.data.mongodb.core.index.IndexInfo;
+import org.springframework.data.mongodb.core.index.IndexOperations;
+import org.springframework.data.mongodb.core.index.PartialIndexFilter;
+import org.springframework.data.mongodb.core.index.TextIndexDefinition;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Stream;
+
+/**
+ * Single place where every MongoDB index is declared. Entity annotations are
+ * not used because auto-index-creation is off and they cannot express the
+ * partial filters below.
+ *
+ * Indexes serving "...AndDeletedFalse" queries are partial on deleted=false so
+ * soft-deleted documents never enter them. A query only qualifies for such an
+ * index when its filter contains deleted=false.
+ */
+@Slf4j
+@Configuration
+public class MongoIndexes {
+
+    public static final String TASK_FOLDER_LIVE = "task_folder_live_idx";
+    public static final String TASK_CREATOR_LIVE = "task_creator_live_idx";
+    public static final String TASK_PARENT_LIVE = "task_parent_live_idx";
+    public static final String TASK_ASSIGNEE_LIVE = "task_assignee_live_idx";
+    public static final String TASK_TEXT = "task_text_idx";
+    public static final String TASK_TOMBSTONE = "task_tombstone_idx";
+    public static final String FOLDER_USER_PARENT_LIVE = "folder_user_parent_live_idx";
+    public static final String FOLDER_PARENT_LIVE = "folder_parent_live_idx";
+    public static final String FOLDER_TOMBSTONE = "folder_tombstone_idx";
+    public static final String ASSIGNEE_TASK_USER = "task_user_idx";
+    public static final String ASSIGNEE_USER_TASK = "user_task_idx";
+    public static final String OUTBOX_STATUS_NEXT_ATTEMPT = "status_next_attempt_idx";
+    public static final String OUTBOX_CLAIM = "claim_idx";
+    public static final String OUTBOX_SENT_TTL = "sent_ttl_idx";
+    public static final String USER_USERNAME = "username_idx";
+
+    private static final Duration SENT_RETENTION = Duration.ofDays(7);
+    private static final int DEDUPLICATE_BATCH_SIZE = 1000;
+
+    public static final Map<Class<?>, List<IndexDefinition>> DEFINITIONS = Map.of(
+            Task.class, List.of(
+                    // findAllByFolderIdAndDeletedFalse, keyset pages sorted by _id, folder ETag
+                    live(new Index().on("folderId", Sort.Direction.ASC).on("_id", Sort.Direction.ASC)
+                            .named(TASK_FOLDER_LIVE)),
+                    live(new Index().on("creatorId", Sort.Direction.ASC).named(TASK_CREATOR_LIVE)),
+                    live(new Index().on("parentTaskId", Sort.Direction.ASC).named(TASK_PARENT_LIVE)),
+                    live(new Index().on("assigneeIds", Sort.Direction.ASC).named(TASK_ASSIGNEE_LIVE)),
+                    // Search: title matches rank above description matches. Language "none"
+                    // tokenizes without English stemming or stop words, which would mangle Turkish text.
+                    TextIndexDefinition.builder()
+                            .named(TASK_TEXT)
+                            .onField("title", 10F)
+                            .onField("description", 2F)
+                            .withDefaultLanguage("none")
+                            .partial(PartialIndexFilter.of(Criteria.where("deleted").is(false)))
+                            .build(),
+                    // TombstonePurgeService walks deleted tasks in _id order
+                    tombstones(new Index().on("deleted", Sort.Direction.ASC).on("_id", Sort.Direction.ASC)
+                            .named(TASK_TOMBSTONE))),
+            Folder.class, List.of(
+                    // Prefix also serves findAllByUserIdAndDeletedFalse
+                    live(new Index().on("userId", Sort.Direction.ASC).on("parentId", Sort.Direction.ASC)
+                            .named(FOLDER_USER_PARENT_LIVE)),
+                    live(new Index().on("parentId", Sort.Direction.ASC).named(FOLDER_PARENT_LIVE)),
+                    tombstones(new Index().on("deleted", Sort.Direction.ASC).on("_id", Sort.Direction.ASC)
+                            .named(FOLDER_TOMBSTONE))),
+            TaskAssignee.class, List.of(
+                    new Index().on("taskId", Sort.Direction.ASC).on("userId", Sort.Direction.ASC)
+                            .unique().named(ASSIGNEE_TASK_USER),
+                    new Index().on("userId", Sort.Direction.ASC).on("taskId", Sort.Direction.ASC)
+                            .named(ASSIGNEE_USER_TASK)),
+            NotificationOutbox.class, List.of(
+                    new Index().on("status", Sort.Direction.ASC).on("nextAttemptAt", Sort.Direction.ASC)
+                            .named(OUTBOX_STATUS_NEXT_ATTEMPT),
+                    // claimId is unset once an entry is sent
+                    new Index().on("claimId", Sort.Direction.ASC).sparse().named(OUTBOX_CLAIM),
+                    // Only SENT entries have sentAt, so pending and dead ones never expire
+                    new Index().on("sentAt", Sort.Direction.ASC).expire(SENT_RETENTION).named(OUTBOX_SENT_TTL)),
+            User.class, List.of(
+                    new Index().on("username", Sort.Direction.ASC).unique().named(USER_USERNAME)));
+
+    private static Index live(Index index) {
+        return index.partial(PartialIndexFilter.of(Criteria.where("deleted").is(false)));
+    }
+
+    private static Index tombstones(Index index) {
+        return index.partial(PartialIndexFilter.of(Criteria.where("deleted").is(true)));
+    }
+
+    @Bean
+    public CommandLineRunner mongoIndexInitializer(MongoTemplate mongoTemplate) {
+        return args -> ensureIndexes(mongoTemplate);
+    }
+
+    /**
+     * Creates missing indexes and reports existing ones that are not declared
+     * here. Undeclared indexes are left in place; dropping them is a manual step.
+     * An index that already exists with the same keys under another name (e.g.
+     * one created by hand or by an older version) is kept as it is: creating
+     * the declared one would fail, so it is skipped with a warning.
+     * Duplicate assignee links, which the toggle could create before
+     * task_user_idx existed, are removed before that index is built; otherwise
+     * the build fails and startup aborts.
+     */
+    public static void ensureIndexes(MongoTemplate mongoTemplate) {
+        DEFINITIONS.forEach((entity, indexes) -> {
+            String collection = mongoTemplate.getCollectionName(entity);
+            IndexOperations ops = mongoTemplate.indexOps(entity);
+            List<Document> existing = mongoTemplate.getCollection(collection).listIndexes().into(new ArrayList<>());
+            Set<String> declared = new HashSet<>();
+            if (entity == TaskAssignee.class && existing.stream()
+                    .noneMatch(info -> ASSIGNEE_TASK_USER.equals(info.getString("name")))) {
+                removeDuplicateLinks(mongoTemplate);
+            }
+            for (IndexDefinition index : indexes) {
+                String name = (String) index.getIndexOptions().get("name");
+                declared.add(name);
+                Optional<String> renamed = existing.stream()
+                        .filter(info -> !name.equals(info.getString("name"))
+                                && sameKeys(index.getIndexKeys(), info.get("key", Document.class)))
+                        .map(info -> info.getString("name"))
+                        .findFirst();
+                if (renamed.isPresent()) {
+                    log.warn("Index {} on {} already exists as {}; drop that one to have it recreated "
+                            + "under the declared name", name, collection, renamed.get());
+                    declared.add(renamed.get());
+                    continue;
+                }
+                try {
+                    ops.ensureIndex(index);
+                } catch (DataAccessException e) {
+                    throw new RuntimeException("Could not create index " + name + " on " + collection, e);
+                }
+            }
+
+            List<String> undeclared = ops.getIndexInfo().stream()
+                    .map(IndexInfo::getName)
+                    .filter(name -> !"_id_".equals(name) && !declared.contains(name))
+                    .toList();
+            if (!undeclared.isEmpty()) {
+                log.warn("Collection {} has indexes not declared in MongoIndexes: {}", collection, undeclared);
+            }
+        });
+    }
+
+    /** Keeps the oldest link of every (taskId, userId) pair. */
+    static void removeDuplicateLinks(MongoTemplate mongoTemplate) {
+        Aggregation aggregation = Aggregation.newAggregation(
+                Aggregation.group("taskId", "userId").push("_id").as("ids").count().as("count"),
+                Aggregation.match(Criteria.where("count").gt(1)))
+                .withOptions(AggregationOptions.builder().allowDiskUse(true).build());
+        List<Object> duplicates = new ArrayList<>();
+        try (Stream<Document> groups = mongoTemplate.aggregateStream(aggregation, TaskAssignee.class, Document.class)) {
+            groups.forEach(group -> {
+                List<Object> ids = new ArrayList<>(group.getList("ids", Object.class));
+                ids.sort(Comparator.comparing(Object::toString));
+                duplicates.addAll(ids.subList(1, ids.size()));
+            });
+        }
+        long removed = 0;
+        for (int from = 0; from < duplicates.size(); from += DEDUPLICATE_BATCH_SIZE) {
+            List<Object> ids = duplicates.subList(from, Math.min(from + DEDUPLICATE_BATCH_SIZE, duplicates.size()));
+            removed += mongoTemplate.remove(new Query(Criteria.where("_id").in(ids)), TaskAssignee.class)
+                    .getDeletedCount();
+        }
+        if (removed > 0) {
+            log.warn("Removed {} duplicate assignee links before creating {}", removed, ASSIGNEE_TASK_USER);
+        }
+    }
+
+    /**
+     * Compares key patterns in order. Text indexes are stored under _fts/_ftsx
+     * whatever their fields, and a collection can only have one.
+     */
+    static boolean sameKeys(Document declared, Document existing) {
+        if (declared.containsValue("text")) {
+            return existing.containsKey("_fts");
+        }
+        return keyPattern(declared).equals(keyPattern(existing));
+    }
+
+    private static List<String> keyPattern(Document keys) {
+        return keys.entrySet().stream()
+                .map(key -> key.getKey() + ":" + (key.getValue() instanceof Number number
+                        ? String.valueOf(number.intValue())
+                        : String.valueOf(key.getValue())))
+                .toList();
+    }
+}
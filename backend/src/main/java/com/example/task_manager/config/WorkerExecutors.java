@@ -0,0 +1,73 @@
+package com.example.task_manager.config;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.VirtualThreadTaskExecutor;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Executors for background work (SSE sends, notification delivery). With
+ * spring.threads.virtual.enabled every task gets its own virtual thread, the
+ * same switch Boot uses for Tomcat request handling, @Async and @Scheduled;
+ * otherwise the usual platform thread pools are created. Virtual threads need
+ * a Java 21 runtime and the flag is ignored on older ones, as Boot does.
+ */
+@Slf4j
+@Component
+public class WorkerExecutors {
+    private final boolean virtualThreads;
+
+    public WorkerExecutors(@Value("${spring.threads.virtual.enabled:false}") boolean virtualThreads) {
+        this.virtualThreads = virtualThreads && Runtime.version().feature() >= 21;
+        if (virtualThreads && !this.virtualThreads) {
+            log.warn("spring.threads.virtual.enabled needs Java 21, running on {}; using platform threads",
+                    Runtime.version());
+        }
+    }
+
+    public boolean isVirtual() {
+        return virtualThreads;
+    }
+
+    /** Fixed pool of platform threads, or one virtual thread per task. */
+    public ExecutorService fixed(String name, int threads) {
+        if (virtualThreads) {
+            return virtualPerTask(name);
+        }
+        return Executors.newFixedThreadPool(threads, new CustomizableThreadFactory(name + "-"));
+    }
+
+    /**
+     * Fixed pool whose submitter runs the task itself once the queue is full,
+     * or one virtual thread per task. Callers must bound the number of tasks
+     * they submit, since the virtual variant does not push back.
+     */
+    public ExecutorService bounded(String name, int threads, int queueCapacity) {
+        if (virtualThreads) {
+            return virtualPerTask(name);
+        }
+        return new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity), new CustomizableThreadFactory(name + "-"),
+                new ThreadPoolExecutor.CallerRunsPolicy());
+    }
+
+    private static ExecutorService virtualPerTask(String name) {
+        ThreadFactory factory = new VirtualThreadTaskExecutor(name + "-").getVirtualThreadFactory();
+        try {
+            // Executors.newThreadPerTaskExecutor is Java 21 API, the build still targets 17
+            return (ExecutorService) Executors.class
+                    .getMethod("newThreadPerTaskExecutor", ThreadFactory.class)
+                    .invoke(null, factory);
+        } catch (ReflectiveOperationException e) {
+            throw new RuntimeException("Virtual threads are not available", e);
+        }
+    }
+}
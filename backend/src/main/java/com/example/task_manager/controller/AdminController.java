@@ -1,15 +1,32 @@
 package com.example.task_manager.controller;
 
+import com.example.task_manager.dto.CursorPage;
+import com.example.task_manager.dto.TaskStatsDTO;
+import com.example.task_manager.model.MigrationCheckpoint;
 import com.example.task_manager.model.Task;
 import com.example.task_manager.model.User;
-import com.example.task_manager.repository.TaskRepository;
 import com.example.task_manager.repository.UserRepository;
+import com.example.task_manager.security.TokenRevocationCache;
+import com.example.task_manager.service.AssigneeMigrationService;
+import com.example.task_manager.service.FolderTreeCache;
+import com.example.task_manager.service.SubtaskRollupService;
+import com.example.task_manager.service.TaskExportService;
+import com.example.task_manager.service.TaskService;
+import com.example.task_manager.service.TaskStatsService;
+import com.example.task_manager.service.TombstonePurgeService;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
 import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Map;
 
 @RestController
 @RequestMapping("/api/admin")
@@ -18,7 +35,14 @@ import java.util.List;
 public class AdminController {
 
     private final UserRepository userRepository;
-    private final TaskRepository taskRepository;
+    private final TaskService taskService;
+    private final TaskExportService taskExportService;
+    private final FolderTreeCache folderTreeCache;
+    private final TokenRevocationCache tokenRevocationCache;
+    private final AssigneeMigrationService assigneeMigrationService;
+    private final TaskStatsService taskStatsService;
+    private final SubtaskRollupService subtaskRollupService;
+    private final TombstonePurgeService tombstonePurgeService;
     private final PasswordEncoder passwordEncoder;
 
     @GetMapping("/users")
@@ -33,17 +57,99 @@ public class AdminController {
     }
 
     @GetMapping("/tasks")
-    public List<Task> getAllTasks() {
-        return taskRepository.findAll();
+    public CursorPage<Task> getAllTasks(@RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer limit) {
+        return taskService.getAllTasksPage(cursor, limit);
+    }
+
+    @GetMapping("/tasks/count")
+    public Map<String, Long> countTasks() {
+        return Map.of("total", taskService.countAllTasks());
+    }
+
+    @GetMapping(value = "/tasks/export", produces = "application/x-ndjson")
+    public ResponseEntity<StreamingResponseBody> exportTasks(
+            @RequestParam(required = false) String folderId,
+            @RequestParam(required = false) Task.Status status,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime updatedSince,
+            @RequestParam(defaultValue = "false") boolean includeDeleted) {
+        StreamingResponseBody body = out -> taskExportService.exportTasks(
+                folderId, status, updatedSince, includeDeleted, out);
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType("application/x-ndjson"))
+                .body(body);
+    }
+
+    @GetMapping("/metrics/folder-tree-cache")
+    public Map<String, Object> getFolderTreeCacheMetrics() {
+        CacheStats stats = folderTreeCache.stats();
+        return Map.of(
+                "size", folderTreeCache.size(),
+                "hits", stats.hitCount(),
+                "misses", stats.missCount(),
+                "hitRate", stats.hitRate(),
+                "evictions", stats.evictionCount());
+    }
+
+    @PostMapping("/migrations/embed-assignees")
+    public MigrationCheckpoint startAssigneeMigration(@RequestParam(defaultValue = "false") boolean restart) {
+        return assigneeMigrationService.start(restart);
+    }
+
+    @GetMapping("/migrations/embed-assignees")
+    public Map<String, Object> getAssigneeMigrationStatus() {
+        return Map.of(
+                "running", assigneeMigrationService.isRunning(),
+                "checkpoint", assigneeMigrationService.status(),
+                "verify", assigneeMigrationService.verifyStatus(),
+                "verified", assigneeMigrationService.isVerified());
+    }
+
+    @PostMapping("/migrations/embed-assignees/verify")
+    public MigrationCheckpoint startAssigneeVerify() {
+        return assigneeMigrationService.startVerify();
+    }
+
+    @PostMapping("/purge")
+    public Map<String, MigrationCheckpoint> startPurge() {
+        return tombstonePurgeService.start();
+    }
+
+    @GetMapping("/purge")
+    public Map<String, Object> getPurgeStatus() {
+        return Map.of(
+                "running", tombstonePurgeService.isRunning(),
+                "checkpoints", tombstonePurgeService.status());
+    }
+
+    @GetMapping("/stats")
+    public TaskStatsDTO getGlobalStats() {
+        return taskStatsService.getGlobalStats();
+    }
+
+    @GetMapping("/stats/users/{userId}")
+    public TaskStatsDTO getUserStats(@PathVariable String userId) {
+        return taskStatsService.getUserStats(userId);
+    }
+
+    @PostMapping("/stats/reconcile")
+    public void reconcileStats() {
+        taskStatsService.reconcile();
+    }
+
+    @PostMapping("/rollups/reconcile")
+    public void reconcileRollups() {
+        subtaskRollupService.reconcile();
     }
 
     @DeleteMapping("/users/{id}")
     public void deleteUser(@PathVariable String id) {
         userRepository.deleteById(id);
+        tokenRevocationCache.revokeUser(id);
     }
 
     @DeleteMapping("/tasks/{id}")
     public void deleteTask(@PathVariable String id) {
-        taskRepository.deleteById(id);
+        taskService.purgeTask(id);
     }
 }
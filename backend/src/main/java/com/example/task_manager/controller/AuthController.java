@@ -5,6 +5,8 @@ import com.example.task_manager.dto.LoginRequest;
 import com.example.task_manager.model.User;
 import com.example.task_manager.repository.UserRepository;
 import com.example.task_manager.security.JwtUtils;
+import com.example.task_manager.security.TokenRevocationCache;
+import io.jsonwebtoken.JwtException;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.authentication.AuthenticationManager;
@@ -13,6 +15,7 @@ import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 
@@ -25,6 +28,7 @@ public class AuthController {
     private final UserDetailsService userDetailsService;
     private final UserRepository userRepository;
     private final JwtUtils jwtUtils;
+    private final TokenRevocationCache tokenRevocationCache;
 
     @PostMapping("/login")
     public ResponseEntity<AuthResponse> login(@RequestBody LoginRequest request) {
@@ -33,7 +37,7 @@ public class AuthController {
 
         UserDetails userDetails = userDetailsService.loadUserByUsername(request.getUsername());
         User user = userRepository.findByUsername(request.getUsername()).orElseThrow();
-        String token = jwtUtils.generateToken(userDetails);
+        String token = jwtUtils.generateToken(user, userDetails);
 
         return ResponseEntity.ok(AuthResponse.builder()
                 .token(token)
@@ -41,4 +45,16 @@ public class AuthController {
                 .role(user.getRole().name())
                 .build());
     }
+
+    @PostMapping("/logout")
+    public ResponseEntity<Void> logout(@RequestHeader(value = "Authorization", required = false) String authHeader) {
+        if (authHeader != null && authHeader.startsWith("Bearer ")) {
+            try {
+                tokenRevocationCache.revokeToken(jwtUtils.parseClaims(authHeader.substring(7)));
+            } catch (JwtException | IllegalArgumentException e) {
+                // Invalid or expired tokens are already unusable
+            }
+        }
+        return ResponseEntity.noContent().build();
+    }
 }
@@ -1,11 +1,13 @@
 package com.example.task_manager.controller;
 
 import com.example.task_manager.dto.FolderDTO;
+import com.example.task_manager.dto.FolderRollupDTO;
 import com.example.task_manager.service.FolderService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.util.List;
 
@@ -22,14 +24,30 @@ public class FolderController {
     }
 
     @GetMapping("/tree")
-    public ResponseEntity<List<FolderDTO>> getFolderTree() {
+    public ResponseEntity<List<FolderDTO>> getFolderTree(WebRequest request) {
         String userId = SecurityContextHolder.getContext().getAuthentication().getName();
-        return ResponseEntity.ok(folderService.getFolderTree(userId));
+        String eTag = folderService.getFolderTreeETag(userId);
+        if (request.checkNotModified(eTag)) {
+            return null;
+        }
+        return ResponseEntity.ok().eTag(eTag).body(folderService.getFolderTree(userId));
+    }
+
+    @GetMapping("/tree/rollup")
+    public ResponseEntity<List<FolderRollupDTO>> getFolderTreeWithRollups(
+            @RequestParam(required = false) String rootId) {
+        String userId = SecurityContextHolder.getContext().getAuthentication().getName();
+        return ResponseEntity.ok(folderService.getFolderTreeWithRollups(userId, rootId));
     }
 
     @DeleteMapping("/{id}")
-    public ResponseEntity<Void> deleteFolder(@PathVariable String id) {
-        folderService.deleteFolder(id);
+    public ResponseEntity<Void> deleteFolder(@PathVariable String id,
+            @RequestParam(defaultValue = "false") boolean recursive) {
+        if (recursive) {
+            folderService.deleteFolderTree(id);
+        } else {
+            folderService.deleteFolder(id);
+        }
         return ResponseEntity.noContent().build();
     }
 }
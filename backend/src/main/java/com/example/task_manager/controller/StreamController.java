@@ -0,0 +1,54 @@
+package com.example.task_manager.controller;
+
+import com.example.task_manager.dto.FolderDTO;
+import com.example.task_manager.dto.TaskDTO;
+import com.example.task_manager.model.User;
+import com.example.task_manager.service.ReactiveQueryService;
+import com.example.task_manager.service.TaskService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Sort;
+import org.springframework.http.MediaType;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+
+/**
+ * Non-blocking variants of the dashboard read endpoints. Lists are streamed as
+ * newline-delimited JSON; the request thread is released while Mongo works and
+ * each element is written as soon as it arrives.
+ */
+@RestController
+@RequestMapping("/api/stream")
+@RequiredArgsConstructor
+public class StreamController {
+    private final ReactiveQueryService reactiveQueryService;
+
+    @GetMapping(value = "/tasks/folder/{folderId}", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public Flux<TaskDTO> getTasksInFolder(@PathVariable String folderId) {
+        return reactiveQueryService.getTasksInFolder(folderId);
+    }
+
+    @GetMapping(value = "/tasks/assigned", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public Flux<TaskDTO> getAssignedTasks(
+            @RequestParam(required = false) TaskService.AssignedSort sort,
+            @RequestParam(defaultValue = "ASC") Sort.Direction direction,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(required = false) Integer size) {
+        String userId = SecurityContextHolder.getContext().getAuthentication().getName();
+        return reactiveQueryService.getTasksForUser(userId, sort, direction, page, size);
+    }
+
+    @GetMapping("/folders/tree")
+    public Mono<List<FolderDTO>> getFolderTree() {
+        String userId = SecurityContextHolder.getContext().getAuthentication().getName();
+        return reactiveQueryService.getFolderTree(userId);
+    }
+
+    @GetMapping(value = "/users", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public Flux<User> getUsers() {
+        return reactiveQueryService.getUsers();
+    }
+}
@@ -1,12 +1,25 @@
 package com.example.task_manager.controller;
 
+import com.example.task_manager.dto.BulkTaskOperationDTO;
+import com.example.task_manager.dto.BulkTaskResultDTO;
+import com.example.task_manager.dto.CursorPage;
 import com.example.task_manager.dto.TaskDTO;
+import com.example.task_manager.dto.TaskSearchResultDTO;
+import com.example.task_manager.dto.TaskStatsDTO;
+import com.example.task_manager.event.TaskChangeBroadcaster;
 import com.example.task_manager.model.Task;
+import com.example.task_manager.service.ETags;
+import com.example.task_manager.service.TaskSearchService;
 import com.example.task_manager.service.TaskService;
+import com.example.task_manager.service.TaskStatsService;
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Sort;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import java.util.List;
 
@@ -15,6 +28,9 @@ import java.util.List;
 @RequiredArgsConstructor
 public class TaskController {
     private final TaskService taskService;
+    private final TaskSearchService taskSearchService;
+    private final TaskChangeBroadcaster taskChangeBroadcaster;
+    private final TaskStatsService taskStatsService;
 
     @PostMapping
     public ResponseEntity<TaskDTO> createTask(@RequestBody TaskDTO taskDTO) {
@@ -23,14 +39,73 @@ public class TaskController {
     }
 
     @GetMapping("/folder/{folderId}")
-    public ResponseEntity<List<TaskDTO>> getTasksInFolder(@PathVariable String folderId) {
-        return ResponseEntity.ok(taskService.getTasksInFolder(folderId));
+    public ResponseEntity<List<TaskDTO>> getTasksInFolder(@PathVariable String folderId, WebRequest request) {
+        String eTag = taskService.getTasksInFolderETag(folderId);
+        if (request.checkNotModified(eTag)) {
+            return null;
+        }
+        return ResponseEntity.ok().eTag(eTag).body(taskService.getTasksInFolder(folderId));
+    }
+
+    /**
+     * The first page is tagged with the folder's ETag, which covers every task
+     * in it: a 304 there tells the client that none of the pages changed.
+     */
+    @GetMapping("/folder/{folderId}/page")
+    public ResponseEntity<CursorPage<TaskDTO>> getTasksInFolderPage(
+            @PathVariable String folderId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer limit,
+            WebRequest request) {
+        if (cursor != null) {
+            return ResponseEntity.ok(taskService.getTasksInFolderPage(folderId, cursor, limit));
+        }
+        String eTag = ETags.of(taskService.getTasksInFolderETag(folderId), limit);
+        if (request.checkNotModified(eTag)) {
+            return null;
+        }
+        return ResponseEntity.ok().eTag(eTag).body(taskService.getTasksInFolderPage(folderId, null, limit));
+    }
+
+    @GetMapping(value = "/folder/{folderId}/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter subscribeToFolder(@PathVariable String folderId) {
+        return taskChangeBroadcaster.subscribe(folderId);
+    }
+
+    @GetMapping("/{taskId}/subtasks")
+    public ResponseEntity<List<TaskDTO>> getSubtasks(@PathVariable String taskId,
+            @RequestParam(defaultValue = "false") boolean recursive) {
+        return ResponseEntity.ok(taskService.getSubtasks(taskId, recursive));
     }
 
     @GetMapping("/assigned")
-    public ResponseEntity<List<TaskDTO>> getAssignedTasks() {
+    public ResponseEntity<List<TaskDTO>> getAssignedTasks(
+            @RequestParam(required = false) TaskService.AssignedSort sort,
+            @RequestParam(defaultValue = "ASC") Sort.Direction direction,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(required = false) Integer size) {
+        String userId = SecurityContextHolder.getContext().getAuthentication().getName();
+        return ResponseEntity.ok(taskService.getTasksForUser(userId, sort, direction, page, size));
+    }
+
+    @GetMapping("/search")
+    public ResponseEntity<List<TaskSearchResultDTO>> searchTasks(
+            @RequestParam String q,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(required = false) Integer size) {
         String userId = SecurityContextHolder.getContext().getAuthentication().getName();
-        return ResponseEntity.ok(taskService.getTasksForUser(userId));
+        return ResponseEntity.ok(taskSearchService.search(userId, q, page, size));
+    }
+
+    @GetMapping("/stats/folder/{folderId}")
+    public ResponseEntity<TaskStatsDTO> getFolderStats(@PathVariable String folderId) {
+        return ResponseEntity.ok(taskStatsService.getFolderStats(folderId));
+    }
+
+    @GetMapping("/stats/me")
+    public ResponseEntity<TaskStatsDTO> getMyStats() {
+        String userId = SecurityContextHolder.getContext().getAuthentication().getName();
+        return ResponseEntity.ok(taskStatsService.getUserStats(userId));
     }
 
     @PostMapping("/{taskId}/assign/{userId}")
@@ -39,15 +114,23 @@ public class TaskController {
         return ResponseEntity.ok().build();
     }
 
+    @PostMapping("/bulk")
+    public ResponseEntity<List<BulkTaskResultDTO>> bulkUpdate(@RequestBody List<BulkTaskOperationDTO> operations) {
+        String userId = SecurityContextHolder.getContext().getAuthentication().getName();
+        return ResponseEntity.ok(taskService.bulkUpdate(operations, userId));
+    }
+
     @PatchMapping("/{taskId}/status")
-    public ResponseEntity<TaskDTO> updateStatus(@PathVariable String taskId, @RequestParam Task.Status status) {
-        return ResponseEntity.ok(taskService.updateTaskStatus(taskId, status));
+    public ResponseEntity<TaskDTO> updateStatus(@PathVariable String taskId, @RequestParam Task.Status status,
+            @RequestParam(required = false) Long version) {
+        return ResponseEntity.ok(taskService.updateTaskStatus(taskId, status, version));
     }
 
     @PatchMapping("/{taskId}/progress")
-    public ResponseEntity<TaskDTO> updateProgress(@PathVariable String taskId, @RequestParam int progress) {
+    public ResponseEntity<TaskDTO> updateProgress(@PathVariable String taskId, @RequestParam int progress,
+            @RequestParam(required = false) Long version) {
         String userId = SecurityContextHolder.getContext().getAuthentication().getName();
-        return ResponseEntity.ok(taskService.updateProgress(taskId, progress, userId));
+        return ResponseEntity.ok(taskService.updateProgress(taskId, progress, userId, version));
     }
 
     @PatchMapping("/{taskId}")
@@ -56,8 +139,9 @@ public class TaskController {
     }
 
     @PatchMapping("/{taskId}/priority")
-    public ResponseEntity<TaskDTO> updatePriority(@PathVariable String taskId, @RequestParam Task.Priority priority) {
-        return ResponseEntity.ok(taskService.updateTaskPriority(taskId, priority));
+    public ResponseEntity<TaskDTO> updatePriority(@PathVariable String taskId, @RequestParam Task.Priority priority,
+            @RequestParam(required = false) Long version) {
+        return ResponseEntity.ok(taskService.updateTaskPriority(taskId, priority, version));
     }
 
     @DeleteMapping("/{taskId}")
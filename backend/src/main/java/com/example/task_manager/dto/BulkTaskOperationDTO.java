@@ -0,0 +1,28 @@
+package com.example.task_manager.dto;
+
+import com.example.task_manager.model.Task;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * One entry of a bulk mutation request. Only the field matching the type is
+ * read: status, priority, progress, or userId for ASSIGN/UNASSIGN.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkTaskOperationDTO {
+    private Type type;
+    private String taskId;
+    private Task.Status status;
+    private Task.Priority priority;
+    private Integer progress;
+    private String userId;
+
+    public enum Type {
+        STATUS, PRIORITY, PROGRESS, ASSIGN, UNASSIGN, DELETE
+    }
+}
@@ -0,0 +1,18 @@
+package com.example.task_manager.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Outcome of the operation at the same index in the bulk request.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkTaskResultDTO {
+    private int index;
+    private String taskId;
+    private boolean success;
+    private String error;
+}
@@ -0,0 +1,25 @@
+package com.example.task_manager.dto;
+
+import com.example.task_manager.model.Task;
+import lombok.Data;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Folder tree node with task statistics rolled up over the node and all of its
+ * descendants.
+ */
+@Data
+public class FolderRollupDTO {
+    private String id;
+    private String name;
+    private String userId;
+    private String parentId;
+    private Map<Task.Status, Long> taskCounts = new EnumMap<>(Task.Status.class);
+    private long totalTasks;
+    private double averageProgress;
+    private List<FolderRollupDTO> children = new ArrayList<>();
+}
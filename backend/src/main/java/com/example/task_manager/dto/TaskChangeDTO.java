@@ -0,0 +1,25 @@
+package com.example.task_manager.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Compact change notification pushed to folder subscribers. task is set for
+ * CREATED and UPDATED, userId for the assignee changes.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class TaskChangeDTO {
+    private Type type;
+    private String taskId;
+    private TaskDTO task;
+    private String userId;
+
+    public enum Type {
+        CREATED, UPDATED, DELETED, ASSIGNEE_ADDED, ASSIGNEE_REMOVED
+    }
+}
@@ -20,6 +20,7 @@ public class TaskDTO {
     private LocalDate startDate;
     private LocalDate endDate;
     private int progress;
+    private int subtaskCount;
     private LocalDateTime createdAt;
     private LocalDateTime updatedAt;
     private Long version;
@@ -0,0 +1,19 @@
+package com.example.task_manager.dto;
+
+import com.example.task_manager.model.Task;
+import lombok.Data;
+
+/**
+ * Single search hit: enough of the task to render a result row, plus the
+ * relevance score and a short excerpt around the first matched term.
+ */
+@Data
+public class TaskSearchResultDTO {
+    private String id;
+    private String title;
+    private String folderId;
+    private Task.Status status;
+    private Task.Priority priority;
+    private double score;
+    private String snippet;
+}
@@ -0,0 +1,16 @@
+package com.example.task_manager.dto;
+
+import com.example.task_manager.model.Task;
+import lombok.Data;
+
+import java.util.EnumMap;
+import java.util.Map;
+
+@Data
+public class TaskStatsDTO {
+    private long totalTasks;
+    private Map<Task.Status, Long> statusCounts = new EnumMap<>(Task.Status.class);
+    private Map<Task.Priority, Long> priorityCounts = new EnumMap<>(Task.Priority.class);
+    private long overdueTasks;
+    private double averageProgress;
+}
@@ -0,0 +1,17 @@
+package com.example.task_manager.event;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+@Component
+@Slf4j
+public class LoggingNotificationSender implements NotificationSender {
+
+    @Override
+    public void sendTaskAssigned(String userId, List<String> taskIds) {
+        log.info("NOTIFICATION: Tasks {} have been assigned to user {}. Sending notification...", taskIds, userId);
+        // Logic to send email, WebSocket message, or push notification goes here
+    }
+}
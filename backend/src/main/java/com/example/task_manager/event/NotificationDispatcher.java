@@ -0,0 +1,171 @@
+package com.example.task_manager.event;
+
+import com.example.task_manager.config.WorkerExecutors;
+import com.example.task_manager.model.NotificationOutbox;
+import com.example.task_manager.repository.NotificationOutboxRepository;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.stream.Collectors;
+
+/**
+ * Drains the notification outbox in batches. Entries are claimed with a
+ * per-batch claimId so several instances can poll safely, grouped per user so
+ * that one user gets a single notification per batch, and delivered on a
+ * bounded executor. Failed deliveries are retried with exponential backoff
+ * and marked DEAD once maxAttempts is reached.
+ *
+ * Every write after delivery matches on the entry's claimId. If the lease
+ * expired and another instance re-claimed the entry in the meantime, the
+ * stale result is dropped instead of overwriting the newer claim.
+ */
+@Component
+@Slf4j
+public class NotificationDispatcher {
+    private final MongoTemplate mongoTemplate;
+    private final NotificationOutboxRepository outboxRepository;
+    private final NotificationSender sender;
+    private final ExecutorService executor;
+
+    private final int batchSize;
+    private final int maxAttempts;
+    private final long backoffBaseMs;
+    private final long leaseMs;
+
+    public NotificationDispatcher(MongoTemplate mongoTemplate,
+            NotificationOutboxRepository outboxRepository,
+            NotificationSender sender,
+            WorkerExecutors workerExecutors,
+            @Value("${notification.dispatcher.batch-size:100}") int batchSize,
+            @Value("${notification.dispatcher.max-attempts:5}") int maxAttempts,
+            @Value("${notification.dispatcher.backoff-base-ms:1000}") long backoffBaseMs,
+            @Value("${notification.dispatcher.lease-ms:60000}") long leaseMs,
+            @Value("${notification.dispatcher.threads:4}") int threads) {
+        this.mongoTemplate = mongoTemplate;
+        this.outboxRepository = outboxRepository;
+        this.sender = sender;
+        this.batchSize = batchSize;
+        this.maxAttempts = maxAttempts;
+        this.backoffBaseMs = backoffBaseMs;
+        this.leaseMs = leaseMs;
+        // When the queue is full the polling thread delivers itself, which slows polling down.
+        // On virtual threads a poll starts at most batchSize deliveries, which bounds them instead.
+        this.executor = workerExecutors.bounded("notification-delivery", threads, batchSize);
+    }
+
+    @Scheduled(fixedDelayString = "${notification.dispatcher.poll-interval-ms:1000}")
+    public void poll() {
+        List<NotificationOutbox> batch = claimBatch();
+        if (batch.isEmpty()) {
+            return;
+        }
+        Map<String, List<NotificationOutbox>> byUser = batch.stream()
+                .collect(Collectors.groupingBy(NotificationOutbox::getUserId, LinkedHashMap::new, Collectors.toList()));
+        byUser.forEach((userId, entries) -> executor.execute(() -> deliver(userId, entries)));
+    }
+
+    /**
+     * Claims up to batchSize due entries: pending ones whose backoff has elapsed
+     * and processing ones whose lease has expired (e.g. after a crash).
+     */
+    List<NotificationOutbox> claimBatch() {
+        LocalDateTime now = LocalDateTime.now();
+        Criteria claimable = new Criteria().orOperator(
+                Criteria.where("status").is(NotificationOutbox.Status.PENDING).and("nextAttemptAt").lte(now),
+                Criteria.where("status").is(NotificationOutbox.Status.PROCESSING)
+                        .and("claimedAt").lt(now.minusNanos(leaseMs * 1_000_000)));
+
+        Query candidates = new Query(claimable).with(Sort.by("nextAttemptAt")).limit(batchSize);
+        candidates.fields().include("_id");
+        List<String> ids = mongoTemplate.find(candidates, NotificationOutbox.class).stream()
+                .map(NotificationOutbox::getId)
+                .collect(Collectors.toList());
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+
+        String claimId = UUID.randomUUID().toString();
+        mongoTemplate.updateMulti(
+                new Query(Criteria.where("_id").in(ids).andOperator(claimable)),
+                new Update().set("status", NotificationOutbox.Status.PROCESSING)
+                        .set("claimId", claimId)
+                        .set("claimedAt", now),
+                NotificationOutbox.class);
+        return outboxRepository.findAllByClaimId(claimId);
+    }
+
+    void deliver(String userId, List<NotificationOutbox> entries) {
+        List<String> taskIds = entries.stream()
+                .map(NotificationOutbox::getTaskId)
+                .distinct()
+                .collect(Collectors.toList());
+        try {
+            sender.sendTaskAssigned(userId, taskIds);
+        } catch (RuntimeException e) {
+            log.warn("Notification delivery to user {} failed: {}", userId, e.getMessage());
+            BulkOperations ops = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, NotificationOutbox.class);
+            for (NotificationOutbox entry : entries) {
+                Query claimed = claimed(List.of(entry.getId()), entry.getClaimId());
+                scheduleRetry(entry, e);
+                ops.updateOne(claimed, new Update().set("status", entry.getStatus())
+                        .set("attempts", entry.getAttempts())
+                        .set("lastError", entry.getLastError())
+                        .set("nextAttemptAt", entry.getNextAttemptAt())
+                        .unset("claimId")
+                        .unset("claimedAt"));
+            }
+            ops.execute();
+            return;
+        }
+        // Entries delivered together always come from the same claimed batch
+        mongoTemplate.updateMulti(
+                claimed(entries.stream().map(NotificationOutbox::getId).toList(), entries.get(0).getClaimId()),
+                new Update().set("status", NotificationOutbox.Status.SENT)
+                        .set("sentAt", LocalDateTime.now())
+                        .unset("claimId"),
+                NotificationOutbox.class);
+    }
+
+    private static Query claimed(List<String> ids, String claimId) {
+        return new Query(Criteria.where("_id").in(ids).and("claimId").is(claimId));
+    }
+
+    private void scheduleRetry(NotificationOutbox entry, RuntimeException error) {
+        int attempts = entry.getAttempts() + 1;
+        entry.setAttempts(attempts);
+        entry.setLastError(error.getMessage());
+        entry.setClaimId(null);
+        entry.setClaimedAt(null);
+        if (attempts >= maxAttempts) {
+            entry.setStatus(NotificationOutbox.Status.DEAD);
+            log.error("Notification {} moved to dead letter after {} attempts", entry.getId(), attempts);
+        } else {
+            entry.setStatus(NotificationOutbox.Status.PENDING);
+            entry.setNextAttemptAt(LocalDateTime.now().plusNanos(backoffMs(attempts) * 1_000_000));
+        }
+    }
+
+    long backoffMs(int attempts) {
+        return backoffBaseMs << Math.min(attempts - 1, 16);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdown();
+    }
+}
@@ -1,17 +1,44 @@
 package com.example.task_manager.event;
 
+import com.example.task_manager.model.NotificationOutbox;
+import com.example.task_manager.repository.NotificationOutboxRepository;
+import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.context.event.EventListener;
 import org.springframework.stereotype.Component;
 
+import java.time.LocalDateTime;
+
+/**
+ * Records assignment notifications in the outbox on the publishing thread.
+ * Delivery happens asynchronously in NotificationDispatcher.
+ */
 @Component
+@RequiredArgsConstructor
 @Slf4j
 public class NotificationListener {
+    private final NotificationOutboxRepository outboxRepository;
 
     @EventListener
     public void handleTaskAssigned(TaskAssignedEvent event) {
-        log.info("NOTIFICATION: Task {} has been assigned to user {}. Sending notification...",
-                event.getTaskId(), event.getUserId());
-        // Logic to send email, WebSocket message, or push notification goes here
+        outboxRepository.save(NotificationOutbox.builder()
+                .taskId(event.getTaskId())
+                .userId(event.getUserId())
+                .nextAttemptAt(LocalDateTime.now())
+                .build());
+        log.debug("Queued notification: task {} assigned to user {}", event.getTaskId(), event.getUserId());
+    }
+
+    @EventListener
+    public void handleTasksAssigned(TaskAssignmentsEvent event) {
+        LocalDateTime now = LocalDateTime.now();
+        outboxRepository.insert(event.getAssignments().stream()
+                .map(a -> NotificationOutbox.builder()
+                        .taskId(a.getTaskId())
+                        .userId(a.getUserId())
+                        .nextAttemptAt(now)
+                        .build())
+                .toList());
+        log.debug("Queued {} assignment notifications", event.getAssignments().size());
     }
 }
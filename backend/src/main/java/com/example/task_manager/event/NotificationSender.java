@@ -0,0 +1,11 @@
+package com.example.task_manager.event;
+
+import java.util.List;
+
+/**
+ * Delivery channel for notifications (email, push, WebSocket...). Implementations
+ * signal a failed delivery by throwing; the dispatcher then retries.
+ */
+public interface NotificationSender {
+    void sendTaskAssigned(String userId, List<String> taskIds);
+}
@@ -0,0 +1,21 @@
+package com.example.task_manager.event;
+
+import com.example.task_manager.model.TaskAssignee;
+import lombok.Getter;
+import org.springframework.context.ApplicationEvent;
+
+import java.util.List;
+
+/**
+ * Batched counterpart of TaskAssignedEvent, published once per bulk mutation
+ * with every assignment the batch created.
+ */
+@Getter
+public class TaskAssignmentsEvent extends ApplicationEvent {
+    private final List<TaskAssignee> assignments;
+
+    public TaskAssignmentsEvent(Object source, List<TaskAssignee> assignments) {
+        super(source);
+        this.assignments = assignments;
+    }
+}
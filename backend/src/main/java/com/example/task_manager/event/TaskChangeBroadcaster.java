@@ -0,0 +1,155 @@
+package com.example.task_manager.event;
+
+import com.example.task_manager.config.WorkerExecutors;
+import com.example.task_manager.dto.TaskChangeDTO;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter.DataWithMediaType;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.Collections;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Fans task changes out to Server-Sent Event subscribers, one registry per
+ * folder. Publishing only enqueues into each subscriber's bounded buffer; a
+ * small pool drains the buffers. A subscriber whose buffer overflows is
+ * disconnected rather than slowing everyone else down; clients refetch the
+ * folder when they reconnect.
+ *
+ * Each event is rendered once and the resulting frame is shared by all
+ * buffers. SseEventBuilder itself must not be shared: build() appends the
+ * frame terminator on every call.
+ */
+@Component
+@Slf4j
+public class TaskChangeBroadcaster {
+    private final Map<String, Set<Subscriber>> subscribersByFolder = new ConcurrentHashMap<>();
+    private final ExecutorService sendExecutor;
+    private final int bufferSize;
+    private final long emitterTimeoutMs;
+
+    public TaskChangeBroadcaster(WorkerExecutors workerExecutors,
+            @Value("${task.events.buffer-size:64}") int bufferSize,
+            @Value("${task.events.timeout-ms:1800000}") long emitterTimeoutMs,
+            @Value("${task.events.threads:2}") int threads) {
+        this.bufferSize = bufferSize;
+        this.emitterTimeoutMs = emitterTimeoutMs;
+        this.sendExecutor = workerExecutors.fixed("sse-send", threads);
+    }
+
+    public SseEmitter subscribe(String folderId) {
+        return subscribe(folderId, new SseEmitter(emitterTimeoutMs));
+    }
+
+    SseEmitter subscribe(String folderId, SseEmitter emitter) {
+        Subscriber subscriber = new Subscriber(folderId, emitter, new ArrayBlockingQueue<>(bufferSize));
+        subscribersByFolder.computeIfAbsent(folderId, id -> ConcurrentHashMap.newKeySet()).add(subscriber);
+        emitter.onCompletion(() -> remove(subscriber));
+        emitter.onTimeout(() -> remove(subscriber));
+        emitter.onError(e -> remove(subscriber));
+        return emitter;
+    }
+
+    @EventListener
+    public void handleTaskChanged(TaskChangedEvent event) {
+        Set<Subscriber> subscribers = subscribersByFolder.get(event.getFolderId());
+        if (subscribers == null) {
+            return;
+        }
+        Set<DataWithMediaType> message = frame(SseEmitter.event()
+                .name("task")
+                .data(event.getChange()));
+        for (Subscriber subscriber : subscribers) {
+            if (!subscriber.buffer.offer(message)) {
+                log.debug("Dropping slow SSE subscriber on folder {}", subscriber.folderId);
+                remove(subscriber);
+                subscriber.emitter.complete();
+                continue;
+            }
+            scheduleDrain(subscriber);
+        }
+    }
+
+    /**
+     * Keeps idle connections alive through proxies and detects dead clients.
+     */
+    @Scheduled(fixedDelayString = "${task.events.heartbeat-ms:30000}")
+    public void heartbeat() {
+        Set<DataWithMediaType> ping = frame(SseEmitter.event().comment("ping"));
+        subscribersByFolder.values().forEach(subscribers -> subscribers.forEach(subscriber -> {
+            if (subscriber.buffer.offer(ping)) {
+                scheduleDrain(subscriber);
+            }
+        }));
+    }
+
+    public int subscriberCount(String folderId) {
+        Set<Subscriber> subscribers = subscribersByFolder.get(folderId);
+        return subscribers == null ? 0 : subscribers.size();
+    }
+
+    private static Set<DataWithMediaType> frame(SseEmitter.SseEventBuilder builder) {
+        return Collections.unmodifiableSet(builder.build());
+    }
+
+    private void scheduleDrain(Subscriber subscriber) {
+        if (subscriber.draining.compareAndSet(false, true)) {
+            sendExecutor.execute(() -> drain(subscriber));
+        }
+    }
+
+    private void drain(Subscriber subscriber) {
+        try {
+            Set<DataWithMediaType> message;
+            while ((message = subscriber.buffer.poll()) != null) {
+                subscriber.emitter.send(message);
+            }
+        } catch (IOException | IllegalStateException e) {
+            remove(subscriber);
+            subscriber.buffer.clear();
+        } finally {
+            subscriber.draining.set(false);
+        }
+        // A message may have arrived between the last poll and resetting the flag
+        if (!subscriber.buffer.isEmpty()) {
+            scheduleDrain(subscriber);
+        }
+    }
+
+    private void remove(Subscriber subscriber) {
+        subscribersByFolder.computeIfPresent(subscriber.folderId, (id, subscribers) -> {
+            subscribers.remove(subscriber);
+            return subscribers.isEmpty() ? null : subscribers;
+        });
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        sendExecutor.shutdownNow();
+    }
+
+    private static final class Subscriber {
+        private final String folderId;
+        private final SseEmitter emitter;
+        private final Queue<Set<DataWithMediaType>> buffer;
+        private final AtomicBoolean draining = new AtomicBoolean();
+
+        private Subscriber(String folderId, SseEmitter emitter, Queue<Set<DataWithMediaType>> buffer) {
+            this.folderId = folderId;
+            this.emitter = emitter;
+            this.buffer = buffer;
+        }
+    }
+}
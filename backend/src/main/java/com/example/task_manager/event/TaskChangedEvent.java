@@ -0,0 +1,17 @@
+package com.example.task_manager.event;
+
+import com.example.task_manager.dto.TaskChangeDTO;
+import lombok.Getter;
+import org.springframework.context.ApplicationEvent;
+
+@Getter
+public class TaskChangedEvent extends ApplicationEvent {
+    private final String folderId;
+    private final TaskChangeDTO change;
+
+    public TaskChangedEvent(Object source, String folderId, TaskChangeDTO change) {
+        super(source);
+        this.folderId = folderId;
+        this.change = change;
+    }
+}
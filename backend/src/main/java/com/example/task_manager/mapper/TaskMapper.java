@@ -12,6 +12,8 @@ public interface TaskMapper {
     @Mapping(target = "assigneeIds", ignore = true)
     TaskDTO toDTO(Task task);
 
+    @Mapping(target = "assigneeIds", ignore = true)
+    @Mapping(target = "subtaskProgressSum", ignore = true)
     Task toEntity(TaskDTO dto);
 
     List<TaskDTO> toDTOList(List<Task> tasks);
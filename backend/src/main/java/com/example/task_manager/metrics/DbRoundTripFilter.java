@@ -0,0 +1,55 @@
+package com.example.task_manager.metrics;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+
+/**
+ * Opens the per-request round-trip counter and records it as the
+ * db.round.trips summary, tagged like http.server.requests. Runs ahead of the
+ * security filters so lookups done during authentication are counted too.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+@RequiredArgsConstructor
+public class DbRoundTripFilter extends OncePerRequestFilter {
+
+    private final MeterRegistry meterRegistry;
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        DbRoundTrips.begin();
+        int count;
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            count = DbRoundTrips.end();
+        }
+        // Responses with a body got the header from DbRoundTripHeaderAdvice before being written
+        if (!response.isCommitted()) {
+            response.setHeader(DbRoundTrips.HEADER, String.valueOf(count));
+        }
+
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        DistributionSummary.builder("db.round.trips")
+                .description("MongoDB commands issued while handling one HTTP request")
+                .baseUnit("commands")
+                .tag("method", request.getMethod())
+                .tag("uri", pattern != null ? pattern.toString() : "UNKNOWN")
+                .serviceLevelObjectives(1, 2, 5, 10, 20, 50, 100)
+                .register(meterRegistry)
+                .record(count);
+    }
+}
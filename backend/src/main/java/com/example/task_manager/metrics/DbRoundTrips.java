@@ -0,0 +1,42 @@
+package com.example.task_manager.metrics;
+
+import com.mongodb.event.CommandListener;
+import com.mongodb.event.CommandStartedEvent;
+
+/**
+ * Counts MongoDB commands issued by the current request thread. The sync
+ * driver notifies command listeners on the calling thread, so a thread-local
+ * counter opened by {@link DbRoundTripFilter} sees every round trip made while
+ * handling the request. Work handed to other threads (SSE, streamed exports,
+ * async listeners) is not attributed to the request.
+ */
+public final class DbRoundTrips implements CommandListener {
+
+    public static final String HEADER = "X-DB-Round-Trips";
+
+    private static final ThreadLocal<int[]> COUNTER = new ThreadLocal<>();
+
+    static void begin() {
+        COUNTER.set(new int[1]);
+    }
+
+    static int end() {
+        int count = current();
+        COUNTER.remove();
+        return count;
+    }
+
+    /** Round trips so far in the current request, or 0 outside of one. */
+    public static int current() {
+        int[] counter = COUNTER.get();
+        return counter != null ? counter[0] : 0;
+    }
+
+    @Override
+    public void commandStarted(CommandStartedEvent event) {
+        int[] counter = COUNTER.get();
+        if (counter != null) {
+            counter[0]++;
+        }
+    }
+}
@@ -7,7 +7,6 @@ import lombok.NoArgsConstructor;
 import org.springframework.data.annotation.CreatedDate;
 import org.springframework.data.annotation.Id;
 import org.springframework.data.annotation.LastModifiedDate;
-import org.springframework.data.mongodb.core.index.Indexed;
 import org.springframework.data.mongodb.core.mapping.Document;
 
 import java.time.LocalDateTime;
@@ -23,10 +22,8 @@ public class Folder {
 
     private String name;
 
-    @Indexed
     private String userId; // The user who created the folder
 
-    @Indexed
     private String parentId; // Self-reference for tree structure
 
     @CreatedDate
@@ -0,0 +1,38 @@
+package com.example.task_manager.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.annotation.LastModifiedDate;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.time.LocalDateTime;
+
+/**
+ * Progress marker of a resumable background job. The id names the job; lastId
+ * is the last document it fully processed.
+ */
+@Document(collection = "migration_checkpoints")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class MigrationCheckpoint {
+    @Id
+    private String id;
+
+    private String lastId;
+
+    private long processed;
+
+    private boolean completed;
+
+    private long mismatches; // Verification jobs only: documents still inconsistent after the repair
+
+    private long repaired; // Verification jobs only: documents rewritten from the source of truth
+
+    @LastModifiedDate
+    private LocalDateTime updatedAt;
+}
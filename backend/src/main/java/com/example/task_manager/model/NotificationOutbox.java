@@ -0,0 +1,53 @@
+package com.example.task_manager.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.CreatedDate;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.time.LocalDateTime;
+
+/**
+ * Pending notification written alongside the change that triggered it and
+ * delivered later by NotificationDispatcher. Entries that exhaust their retries
+ * stay in the collection with status DEAD; SENT entries are removed by a TTL
+ * index on sentAt.
+ */
+@Document(collection = "notification_outbox")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class NotificationOutbox {
+    @Id
+    private String id;
+
+    private String taskId;
+
+    private String userId;
+
+    @Builder.Default
+    private Status status = Status.PENDING;
+
+    private int attempts;
+
+    private LocalDateTime nextAttemptAt;
+
+    private String claimId; // Set by the dispatcher instance processing the entry
+
+    private LocalDateTime claimedAt;
+
+    private String lastError;
+
+    private LocalDateTime sentAt;
+
+    @CreatedDate
+    private LocalDateTime createdAt;
+
+    public enum Status {
+        PENDING, PROCESSING, SENT, DEAD
+    }
+}
@@ -5,11 +5,12 @@ import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 import org.springframework.data.annotation.*;
-import org.springframework.data.mongodb.core.index.Indexed;
 import org.springframework.data.mongodb.core.mapping.Document;
 
 import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
 
 @Document(collection = "tasks")
 @Data
@@ -24,16 +25,12 @@ public class Task {
 
     private String description;
 
-    @Indexed
     private Status status;
 
-    @Indexed
     private String folderId;
 
-    @Indexed
     private String parentTaskId;
 
-    @Indexed
     private String creatorId;
 
     private LocalDate startDate;
@@ -46,6 +43,16 @@ public class Task {
     @Builder.Default
     private Priority priority = Priority.MEDIUM;
 
+    // Rollup over live subtasks; while subtaskCount > 0, progress is derived
+    // from them (see TaskService.rollUpProgress)
+    private int subtaskCount;
+
+    private long subtaskProgressSum;
+
+    // Embedded copy of task_assignees (see TaskService.AssigneeStorage)
+    @Builder.Default
+    private List<String> assigneeIds = new ArrayList<>();
+
     @CreatedDate
     private LocalDateTime createdAt;
 
@@ -5,15 +5,17 @@ import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 import org.springframework.data.annotation.Id;
-import org.springframework.data.mongodb.core.index.CompoundIndex;
 import org.springframework.data.mongodb.core.mapping.Document;
 
+/**
+ * One (taskId, userId) link. Unique through MongoIndexes.ASSIGNEE_TASK_USER,
+ * which TaskService.toggleAssignee relies on to stay free of duplicates.
+ */
 @Document(collection = "task_assignees")
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
 @Builder
-@CompoundIndex(name = "task_user_idx", def = "{'taskId': 1, 'userId': 1}", unique = true)
 public class TaskAssignee {
     @Id
     private String id;
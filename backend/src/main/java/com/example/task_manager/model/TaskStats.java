@@ -0,0 +1,54 @@
+package com.example.task_manager.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Materialized task counters of one folder, one assignee or one shard of the
+ * global counters, kept current with $inc by TaskStatsService and periodically
+ * rebuilt from the tasks themselves. Only live (not deleted) tasks are counted.
+ */
+@Document(collection = "task_stats")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class TaskStats {
+    @Id
+    private String id; // "<scope>:<scopeId>", scopeId is the shard number for GLOBAL
+
+    private Scope scope;
+
+    private String scopeId;
+
+    private long total;
+
+    @Builder.Default
+    private Map<String, Long> byStatus = new HashMap<>();
+
+    @Builder.Default
+    private Map<String, Long> byPriority = new HashMap<>();
+
+    private long progressSum;
+
+    // Open (not DONE/CANCELLED) tasks per end date, keyed yyyy-MM-dd, so the
+    // overdue count can be derived at read time as the days pass
+    @Builder.Default
+    private Map<String, Long> openByEndDate = new HashMap<>();
+
+    private LocalDateTime createdAt;
+
+    private LocalDateTime reconciledAt;
+
+    public enum Scope {
+        FOLDER, USER, GLOBAL
+    }
+}
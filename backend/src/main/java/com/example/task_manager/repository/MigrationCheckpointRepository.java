@@ -0,0 +1,7 @@
+package com.example.task_manager.repository;
+
+import com.example.task_manager.model.MigrationCheckpoint;
+import org.springframework.data.mongodb.repository.MongoRepository;
+
+public interface MigrationCheckpointRepository extends MongoRepository<MigrationCheckpoint, String> {
+}
@@ -0,0 +1,9 @@
+package com.example.task_manager.repository;
+
+import com.example.task_manager.model.NotificationOutbox;
+import org.springframework.data.mongodb.repository.MongoRepository;
+import java.util.List;
+
+public interface NotificationOutboxRepository extends MongoRepository<NotificationOutbox, String> {
+    List<NotificationOutbox> findAllByClaimId(String claimId);
+}
@@ -0,0 +1,9 @@
+package com.example.task_manager.repository;
+
+import com.example.task_manager.model.Folder;
+import org.springframework.data.mongodb.repository.ReactiveMongoRepository;
+import reactor.core.publisher.Flux;
+
+public interface ReactiveFolderRepository extends ReactiveMongoRepository<Folder, String> {
+    Flux<Folder> findAllByUserIdAndDeletedFalse(String userId);
+}
@@ -0,0 +1,11 @@
+package com.example.task_manager.repository;
+
+import com.example.task_manager.model.TaskAssignee;
+import org.springframework.data.mongodb.repository.ReactiveMongoRepository;
+import reactor.core.publisher.Flux;
+
+import java.util.Collection;
+
+public interface ReactiveTaskAssigneeRepository extends ReactiveMongoRepository<TaskAssignee, String> {
+    Flux<TaskAssignee> findAllByTaskIdIn(Collection<String> taskIds);
+}
@@ -0,0 +1,9 @@
+package com.example.task_manager.repository;
+
+import com.example.task_manager.model.Task;
+import org.springframework.data.mongodb.repository.ReactiveMongoRepository;
+import reactor.core.publisher.Flux;
+
+public interface ReactiveTaskRepository extends ReactiveMongoRepository<Task, String> {
+    Flux<Task> findAllByFolderIdAndDeletedFalse(String folderId);
+}
@@ -0,0 +1,7 @@
+package com.example.task_manager.repository;
+
+import com.example.task_manager.model.User;
+import org.springframework.data.mongodb.repository.ReactiveMongoRepository;
+
+public interface ReactiveUserRepository extends ReactiveMongoRepository<User, String> {
+}
@@ -2,12 +2,17 @@ package com.example.task_manager.repository;
 
 import com.example.task_manager.model.TaskAssignee;
 import org.springframework.data.mongodb.repository.MongoRepository;
+import java.util.Collection;
 import java.util.List;
 
 public interface TaskAssigneeRepository extends MongoRepository<TaskAssignee, String> {
     List<TaskAssignee> findAllByTaskId(String taskId);
 
+    List<TaskAssignee> findAllByTaskIdIn(Collection<String> taskIds);
+
     List<TaskAssignee> findAllByUserId(String userId);
 
-    void deleteByTaskIdAndUserId(String taskId, String userId);
+    boolean existsByTaskIdAndUserId(String taskId, String userId);
+
+    long deleteByTaskIdAndUserId(String taskId, String userId);
 }
@@ -22,15 +22,23 @@ public class DevAuthFilter extends OncePerRequestFilter {
 
     private final UserRepository userRepository;
 
+    // Resolved once; the admin user is created at startup and never changes id
+    private volatile String adminId;
+
     @Override
     protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
             throws ServletException, IOException {
 
         // Find the default admin user to use as the session user
-        String userId = "dev-user";
-        User admin = userRepository.findByUsername("admin").orElse(null);
-        if (admin != null) {
-            userId = admin.getId();
+        String userId = adminId;
+        if (userId == null) {
+            User admin = userRepository.findByUsername("admin").orElse(null);
+            if (admin != null) {
+                adminId = admin.getId();
+                userId = adminId;
+            } else {
+                userId = "dev-user";
+            }
         }
 
         UsernamePasswordAuthenticationToken auth = new UsernamePasswordAuthenticationToken(
@@ -1,5 +1,7 @@
 package com.example.task_manager.security;
 
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -7,6 +9,7 @@ import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
 import org.springframework.lang.NonNull;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UserDetailsService;
@@ -15,6 +18,7 @@ import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
 
 import java.io.IOException;
+import java.util.Collections;
 
 @Component
 @RequiredArgsConstructor
@@ -22,6 +26,7 @@ public class JwtAuthFilter extends OncePerRequestFilter {
 
     private final JwtUtils jwtUtils;
     private final UserDetailsService userDetailsService;
+    private final TokenRevocationCache tokenRevocationCache;
 
     @Override
     protected void doFilterInternal(
@@ -29,28 +34,54 @@ public class JwtAuthFilter extends OncePerRequestFilter {
             @NonNull HttpServletResponse response,
             @NonNull FilterChain filterChain) throws ServletException, IOException {
         final String authHeader = request.getHeader("Authorization");
-        final String jwt;
-        final String username;
 
         if (authHeader == null || !authHeader.startsWith("Bearer ")) {
             filterChain.doFilter(request, response);
             return;
         }
 
-        jwt = authHeader.substring(7);
-        username = jwtUtils.extractUsername(jwt);
+        // The token is parsed and verified exactly once per request
+        final Claims claims;
+        try {
+            claims = jwtUtils.parseClaims(authHeader.substring(7));
+        } catch (JwtException | IllegalArgumentException e) {
+            filterChain.doFilter(request, response);
+            return;
+        }
 
-        if (username != null && SecurityContextHolder.getContext().getAuthentication() == null) {
-            UserDetails userDetails = this.userDetailsService.loadUserByUsername(username);
-            if (jwtUtils.isTokenValid(jwt, userDetails)) {
-                UsernamePasswordAuthenticationToken authToken = new UsernamePasswordAuthenticationToken(
-                        userDetails,
-                        null,
-                        userDetails.getAuthorities());
+        if (SecurityContextHolder.getContext().getAuthentication() == null && !tokenRevocationCache.isRevoked(claims)) {
+            UsernamePasswordAuthenticationToken authToken = authenticate(claims);
+            if (authToken != null) {
                 authToken.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
                 SecurityContextHolder.getContext().setAuthentication(authToken);
             }
         }
         filterChain.doFilter(request, response);
     }
+
+    private UsernamePasswordAuthenticationToken authenticate(Claims claims) {
+        String userId = claims.get(JwtUtils.CLAIM_USER_ID, String.class);
+        String role = claims.get(JwtUtils.CLAIM_ROLE, String.class);
+        if (userId != null && role != null) {
+            // Identity and role come from the signed token; no user lookup needed. The role
+            // stays trusted until the token expires or is revoked.
+            return new UsernamePasswordAuthenticationToken(
+                    userId,
+                    null,
+                    Collections.singletonList(new SimpleGrantedAuthority("ROLE_" + role)));
+        }
+
+        // Tokens issued before the id/role claims were added still need the lookup
+        if (claims.getSubject() == null) {
+            return null;
+        }
+        UserDetails userDetails = this.userDetailsService.loadUserByUsername(claims.getSubject());
+        if (!jwtUtils.isTokenValid(claims, userDetails)) {
+            return null;
+        }
+        return new UsernamePasswordAuthenticationToken(
+                userDetails,
+                null,
+                userDetails.getAuthorities());
+    }
 }
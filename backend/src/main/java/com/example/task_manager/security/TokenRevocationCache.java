@@ -0,0 +1,51 @@
+package com.example.task_manager.security;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.jsonwebtoken.Claims;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+
+/**
+ * In-memory revocation list checked on every authenticated request instead of
+ * a database lookup. Entries only need to outlive the tokens they revoke, so
+ * they expire after the token lifetime. There is deliberately no size bound:
+ * evicting an entry early would make a revoked token valid again. Memory is
+ * bounded by the number of revocations within one token lifetime.
+ */
+@Component
+public class TokenRevocationCache {
+    private final Cache<String, Boolean> revokedTokens;
+    private final Cache<String, Instant> revokedUsers;
+
+    public TokenRevocationCache(JwtUtils jwtUtils) {
+        Duration tokenLifetime = Duration.ofMillis(jwtUtils.getExpirationMs());
+        this.revokedTokens = Caffeine.newBuilder().expireAfterWrite(tokenLifetime).build();
+        this.revokedUsers = Caffeine.newBuilder().expireAfterWrite(tokenLifetime).build();
+    }
+
+    public void revokeToken(Claims claims) {
+        if (claims.getId() != null) {
+            revokedTokens.put(claims.getId(), Boolean.TRUE);
+        }
+    }
+
+    /**
+     * Revokes every token issued to the user up to now.
+     */
+    public void revokeUser(String userId) {
+        revokedUsers.put(userId, Instant.now());
+    }
+
+    public boolean isRevoked(Claims claims) {
+        if (claims.getId() != null && revokedTokens.getIfPresent(claims.getId()) != null) {
+            return true;
+        }
+        String userId = claims.get(JwtUtils.CLAIM_USER_ID, String.class);
+        Instant revokedAt = userId != null ? revokedUsers.getIfPresent(userId) : null;
+        return revokedAt != null && claims.getIssuedAt() != null
+                && !claims.getIssuedAt().toInstant().isAfter(revokedAt);
+    }
+}
@@ -61,7 +61,8 @@ public class WebSecurityConfig {
         configuration.setAllowedMethods(Arrays.asList("GET", "POST", "PUT", "DELETE", "PATCH", "OPTIONS"));
         // Tüm headerlara ve her şeye izin ver (CORS hatasını kökten bitirmek için)
         configuration.setAllowedHeaders(List.of("*"));
-        configuration.setExposedHeaders(List.of("*"));
+        // "*" is not honoured for credentialed requests, so headers the client reads are listed explicitly
+        configuration.setExposedHeaders(List.of("*", "ETag", "X-DB-Round-Trips"));
         configuration.setAllowCredentials(true);
         configuration.setMaxAge(3600L);
 
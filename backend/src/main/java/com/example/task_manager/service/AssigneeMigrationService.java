@@ -0,0 +1,295 @@
+package com.example.task_manager.service;
+
+import com.example.task_manager.config.WorkerExecutors;
+import com.example.task_manager.model.MigrationCheckpoint;
+import com.example.task_manager.model.Task;
+import com.example.task_manager.model.TaskAssignee;
+import com.example.task_manager.repository.MigrationCheckpointRepository;
+import com.example.task_manager.repository.TaskAssigneeRepository;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.types.ObjectId;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Collectors;
+
+/**
+ * Online backfill of Task.assigneeIds from task_assignees. Walks the tasks
+ * collection in _id order, one batch at a time: the batch's links are read with
+ * a single $in query and written back with one bulk $set. The last processed id
+ * is checkpointed after every batch so the job resumes where it stopped.
+ * Run it while task.assignees.storage=DUAL_WRITE so that concurrent changes
+ * reach both stores; it is idempotent and can be re-run before switching reads.
+ * Ids are added with $addToSet rather than $set, so a toggle that lands between
+ * reading a batch's links and writing them is never overwritten.
+ *
+ * The verify pass walks the tasks the same way and compares each embedded
+ * array with task_assignees. Since the backfill only ever adds ids, verify is
+ * also the repair: a differing array is replaced with the links by a $set
+ * conditioned on the version read before the links, so a toggle landing in
+ * between makes the repair miss instead of being overwritten. Tasks that could
+ * not be repaired count as mismatches. Startup with storage=EMBEDDED is
+ * refused until a verify pass has completed without mismatches; starting a
+ * new backfill discards the previous verification.
+ */
+@Service
+@Slf4j
+public class AssigneeMigrationService {
+    private static final String JOB_ID = "embed-task-assignees";
+    private static final String VERIFY_JOB_ID = "verify-task-assignees";
+
+    private final MongoTemplate mongoTemplate;
+    private final TaskAssigneeRepository taskAssigneeRepository;
+    private final MigrationCheckpointRepository checkpointRepository;
+    private final ExecutorService executor;
+    private final AtomicBoolean running = new AtomicBoolean();
+
+    private final int batchSize;
+    private final long throttleMs;
+    private final TaskService.AssigneeStorage storage;
+
+    public AssigneeMigrationService(MongoTemplate mongoTemplate,
+            TaskAssigneeRepository taskAssigneeRepository,
+            MigrationCheckpointRepository checkpointRepository,
+            WorkerExecutors workerExecutors,
+            @Value("${task.assignees.migration.batch-size:500}") int batchSize,
+            @Value("${task.assignees.migration.throttle-ms:100}") long throttleMs,
+            @Value("${task.assignees.storage:COLLECTION}") TaskService.AssigneeStorage storage) {
+        this.mongoTemplate = mongoTemplate;
+        this.taskAssigneeRepository = taskAssigneeRepository;
+        this.checkpointRepository = checkpointRepository;
+        this.executor = workerExecutors.fixed("assignee-migration", 1);
+        this.batchSize = batchSize;
+        this.throttleMs = throttleMs;
+        this.storage = storage;
+    }
+
+    /**
+     * Embedded reads are only safe once the arrays are known to match the
+     * collection; serving them earlier would silently drop assignees.
+     */
+    @PostConstruct
+    public void checkEmbeddedReads() {
+        if (storage == TaskService.AssigneeStorage.EMBEDDED && !isVerified()) {
+            throw new RuntimeException("task.assignees.storage=EMBEDDED requires a completed assignee verify pass "
+                    + "without mismatches; run it under DUAL_WRITE first");
+        }
+    }
+
+    public MigrationCheckpoint start(boolean restart) {
+        return launch(status(), () -> {
+            if (restart) {
+                checkpointRepository.deleteById(JOB_ID);
+            }
+            // Whatever the backfill writes has not been verified yet
+            checkpointRepository.deleteById(VERIFY_JOB_ID);
+            run();
+        }, "Assignee backfill stopped, it will resume from the last checkpoint");
+    }
+
+    public MigrationCheckpoint startVerify() {
+        return launch(verifyStatus(), this::verify,
+                "Assignee verify pass stopped, it will resume from the last checkpoint");
+    }
+
+    private MigrationCheckpoint launch(MigrationCheckpoint current, Runnable job, String failureMessage) {
+        if (!running.compareAndSet(false, true)) {
+            return current;
+        }
+        executor.execute(() -> {
+            try {
+                job.run();
+            } catch (RuntimeException e) {
+                log.error(failureMessage, e);
+            } finally {
+                running.set(false);
+            }
+        });
+        return current;
+    }
+
+    public MigrationCheckpoint status() {
+        return checkpoint(JOB_ID);
+    }
+
+    public MigrationCheckpoint verifyStatus() {
+        return checkpoint(VERIFY_JOB_ID);
+    }
+
+    public boolean isVerified() {
+        MigrationCheckpoint verify = verifyStatus();
+        return verify.isCompleted() && verify.getMismatches() == 0;
+    }
+
+    private MigrationCheckpoint checkpoint(String jobId) {
+        return checkpointRepository.findById(jobId)
+                .orElse(MigrationCheckpoint.builder().id(jobId).build());
+    }
+
+    public boolean isRunning() {
+        return running.get();
+    }
+
+    private void run() {
+        MigrationCheckpoint checkpoint = status();
+        if (checkpoint.isCompleted()) {
+            return;
+        }
+        while (!Thread.currentThread().isInterrupted()) {
+            Criteria criteria = new Criteria();
+            if (checkpoint.getLastId() != null) {
+                criteria = Criteria.where("_id").gt(new ObjectId(checkpoint.getLastId()));
+            }
+            Query query = new Query(criteria).with(Sort.by(Sort.Direction.ASC, "_id")).limit(batchSize);
+            query.fields().include("_id");
+            List<String> taskIds = mongoTemplate.find(query, Task.class).stream()
+                    .map(Task::getId)
+                    .collect(Collectors.toList());
+            if (taskIds.isEmpty()) {
+                checkpoint.setCompleted(true);
+                checkpointRepository.save(checkpoint);
+                log.info("Assignee backfill finished, {} tasks processed", checkpoint.getProcessed());
+                return;
+            }
+
+            Map<String, Set<String>> assigneesByTask = links(taskIds);
+            BulkOperations ops = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, Task.class);
+            for (String taskId : taskIds) {
+                // An empty $each still creates the array, so every task ends up with one
+                ops.updateOne(new Query(Criteria.where("_id").is(taskId)), new Update().addToSet("assigneeIds")
+                        .each(assigneesByTask.getOrDefault(taskId, Set.of()).toArray()));
+            }
+            ops.execute();
+
+            checkpoint.setLastId(taskIds.get(taskIds.size() - 1));
+            checkpoint.setProcessed(checkpoint.getProcessed() + taskIds.size());
+            checkpointRepository.save(checkpoint);
+            pause();
+        }
+    }
+
+    private void verify() {
+        MigrationCheckpoint checkpoint = verifyStatus();
+        if (checkpoint.isCompleted()) {
+            // The previous pass finished; this run is a new one
+            checkpoint = MigrationCheckpoint.builder().id(VERIFY_JOB_ID).build();
+        }
+        while (!Thread.currentThread().isInterrupted()) {
+            Criteria criteria = new Criteria();
+            if (checkpoint.getLastId() != null) {
+                criteria = Criteria.where("_id").gt(new ObjectId(checkpoint.getLastId()));
+            }
+            Query query = new Query(criteria).with(Sort.by(Sort.Direction.ASC, "_id")).limit(batchSize);
+            query.fields().include("_id");
+            List<String> taskIds = mongoTemplate.find(query, Task.class).stream()
+                    .map(Task::getId)
+                    .collect(Collectors.toList());
+            if (taskIds.isEmpty()) {
+                checkpoint.setCompleted(true);
+                checkpointRepository.save(checkpoint);
+                log.info("Assignee verify pass finished, {} tasks checked, {} repaired, {} mismatches",
+                        checkpoint.getProcessed(), checkpoint.getRepaired(), checkpoint.getMismatches());
+                return;
+            }
+
+            List<String> unrepaired = repair(mismatched(taskIds), checkpoint);
+            if (!unrepaired.isEmpty()) {
+                log.warn("Embedded assignees of tasks {} changed while being repaired; run verify again", unrepaired);
+            }
+            checkpoint.setLastId(taskIds.get(taskIds.size() - 1));
+            checkpoint.setProcessed(checkpoint.getProcessed() + taskIds.size());
+            checkpoint.setMismatches(checkpoint.getMismatches() + unrepaired.size());
+            checkpointRepository.save(checkpoint);
+            pause();
+        }
+    }
+
+    private List<String> mismatched(List<String> taskIds) {
+        if (taskIds.isEmpty()) {
+            return taskIds;
+        }
+        Query query = new Query(Criteria.where("_id").in(taskIds.stream().map(ObjectId::new).toList()));
+        query.fields().include("assigneeIds");
+        Map<String, Set<String>> expected = links(taskIds);
+        return mongoTemplate.find(query, Task.class).stream()
+                .filter(task -> task.getAssigneeIds() == null || !new HashSet<>(task.getAssigneeIds())
+                        .equals(expected.getOrDefault(task.getId(), Set.of())))
+                .map(Task::getId)
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Replaces differing arrays with the links and returns the tasks whose
+     * version moved in between. A suspect that matches on this second read was
+     * a toggle caught between the reads of mismatched and needs nothing.
+     */
+    private List<String> repair(List<String> taskIds, MigrationCheckpoint checkpoint) {
+        if (taskIds.isEmpty()) {
+            return taskIds;
+        }
+        // Versions first: any toggle after this read bumps the version the $set is conditioned on
+        Query query = new Query(Criteria.where("_id").in(taskIds.stream().map(ObjectId::new).toList()));
+        query.fields().include("assigneeIds", "version");
+        List<Task> tasks = mongoTemplate.find(query, Task.class);
+        Map<String, Set<String>> expected = links(taskIds);
+        List<String> unrepaired = new ArrayList<>();
+        long repaired = 0;
+        for (Task task : tasks) {
+            Set<String> links = expected.getOrDefault(task.getId(), Set.of());
+            if (task.getAssigneeIds() != null && new HashSet<>(task.getAssigneeIds()).equals(links)) {
+                continue;
+            }
+            long matched = mongoTemplate.updateFirst(
+                    new Query(Criteria.where("_id").is(task.getId()).and("version").is(task.getVersion())),
+                    new Update().set("assigneeIds", new ArrayList<>(links))
+                            .set("updatedAt", LocalDateTime.now())
+                            .inc("version", 1),
+                    Task.class).getMatchedCount();
+            if (matched > 0) {
+                repaired++;
+            } else {
+                unrepaired.add(task.getId());
+            }
+        }
+        checkpoint.setRepaired(checkpoint.getRepaired() + repaired);
+        return unrepaired;
+    }
+
+    private Map<String, Set<String>> links(List<String> taskIds) {
+        return taskAssigneeRepository.findAllByTaskIdIn(taskIds).stream()
+                .collect(Collectors.groupingBy(TaskAssignee::getTaskId,
+                        Collectors.mapping(TaskAssignee::getUserId, Collectors.toSet())));
+    }
+
+    private void pause() {
+        if (throttleMs <= 0) {
+            return;
+        }
+        try {
+            Thread.sleep(throttleMs);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+}
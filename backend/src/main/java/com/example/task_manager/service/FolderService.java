@@ -1,57 +1,175 @@
 package com.example.task_manager.service;
 
+import com.example.task_manager.config.MongoConfig;
 import com.example.task_manager.dto.FolderDTO;
+import com.example.task_manager.dto.FolderRollupDTO;
 import com.example.task_manager.mapper.FolderMapper;
 import com.example.task_manager.model.Folder;
+import com.example.task_manager.model.Task;
 import com.example.task_manager.repository.FolderRepository;
 import lombok.RequiredArgsConstructor;
+import org.bson.Document;
+import org.bson.types.ObjectId;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.Aggregation;
+import org.springframework.data.mongodb.core.aggregation.AggregationOptions;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
 import org.springframework.stereotype.Service;
 
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
-import java.util.stream.Collectors;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Stream;
 
 @Service
 @RequiredArgsConstructor
 public class FolderService {
     private final FolderRepository folderRepository;
     private final FolderMapper folderMapper;
+    private final FolderTreeCache folderTreeCache;
+    private final MongoTemplate mongoTemplate;
+    private final TaskService taskService;
+
+    @Value("${task.bulk.delete-batch-size:1000}")
+    private int deleteBatchSize;
 
     public FolderDTO createFolder(FolderDTO folderDTO, String userId) {
         Folder folder = folderMapper.toEntity(folderDTO);
         folder.setUserId(userId);
         folder.setDeleted(false);
-        return folderMapper.toDTO(folderRepository.save(folder));
+        Folder saved = folderRepository.save(folder);
+        folderTreeCache.folderAdded(saved);
+        return folderMapper.toDTO(saved);
     }
 
     /**
      * Alternative: Use MongoDB Aggregation with $graphLookup for recursive tree.
-     * This in-memory approach is suitable for smaller tree structures.
+     * This in-memory approach is suitable for smaller tree structures; built trees
+     * are cached per user by FolderTreeCache.
      */
     public List<FolderDTO> getFolderTree(String userId) {
-        List<Folder> allFolders = folderRepository.findAllByUserIdAndDeletedFalse(userId);
-        List<FolderDTO> allDTOs = folderMapper.toDTOList(allFolders);
+        return folderTreeCache.get(userId, () -> folderRepository.findAllByUserIdAndDeletedFalse(userId));
+    }
+
+    public List<String> getFolderIds(String userId) {
+        return folderTreeCache.folderIds(userId, () -> folderRepository.findAllByUserIdAndDeletedFalse(userId));
+    }
+
+    public String getFolderTreeETag(String userId) {
+        return folderTreeCache.eTag(userId, () -> folderRepository.findAllByUserIdAndDeletedFalse(userId));
+    }
 
-        Map<String, List<FolderDTO>> childrenMap = allDTOs.stream()
-                .filter(f -> f.getParentId() != null)
-                .collect(Collectors.groupingBy(FolderDTO::getParentId));
+    /**
+     * Folder tree (or the subtree under rootId) with task rollups, resolved in one
+     * aggregation: $graphLookup collects every descendant of each starting folder
+     * and a $lookup into tasks groups their tasks by folder and status. Per-folder
+     * figures are then summed up the tree while it is assembled.
+     */
+    public List<FolderRollupDTO> getFolderTreeWithRollups(String userId, String rootId) {
+        Criteria start = Criteria.where("userId").is(userId).and("deleted").is(false);
+        if (rootId != null) {
+            if (!ObjectId.isValid(rootId)) {
+                throw new RuntimeException("Folder not found");
+            }
+            start.and("_id").is(new ObjectId(rootId));
+        } else {
+            start.and("parentId").is(null);
+        }
 
-        List<FolderDTO> rootFolders = allDTOs.stream()
-                .filter(f -> f.getParentId() == null)
-                .collect(Collectors.toList());
+        Aggregation aggregation = Aggregation.newAggregation(
+                Aggregation.match(start),
+                Aggregation.stage(new Document("$graphLookup", new Document("from", MongoConfig.FOLDER_NODES_VIEW)
+                        .append("startWith", new Document("$toString", "$_id"))
+                        .append("connectFromField", "nodeId")
+                        .append("connectToField", "parentId")
+                        .append("as", "descendants")
+                        .append("restrictSearchWithMatch", new Document("deleted", false)))),
+                Aggregation.stage(new Document("$addFields", new Document("folderIds",
+                        new Document("$concatArrays", List.of(
+                                List.of(new Document("$toString", "$_id")),
+                                "$descendants.nodeId"))))),
+                Aggregation.stage(new Document("$lookup", new Document("from", "tasks")
+                        .append("localField", "folderIds")
+                        .append("foreignField", "folderId")
+                        .append("pipeline", List.of(
+                                new Document("$match", new Document("deleted", false)),
+                                new Document("$group", new Document("_id", new Document("folderId", "$folderId")
+                                        .append("status", "$status"))
+                                        .append("count", new Document("$sum", 1))
+                                        .append("progressSum", new Document("$sum", "$progress")))))
+                        .append("as", "taskStats"))));
 
-        populateChildren(rootFolders, childrenMap);
-        return rootFolders;
+        List<FolderRollupDTO> roots = new ArrayList<>();
+        for (Document result : mongoTemplate.aggregate(aggregation, "folders", Document.class)) {
+            roots.add(assembleRollupTree(result));
+        }
+        return roots;
     }
 
-    private void populateChildren(List<FolderDTO> parents, Map<String, List<FolderDTO>> childrenMap) {
-        for (FolderDTO parent : parents) {
-            List<FolderDTO> children = childrenMap.get(parent.getId());
-            if (children != null) {
-                parent.setChildren(children);
-                populateChildren(children, childrenMap);
+    private FolderRollupDTO assembleRollupTree(Document result) {
+        Map<String, FolderRollupDTO> nodes = new HashMap<>();
+        Map<String, Long> progressSums = new HashMap<>();
+
+        FolderRollupDTO root = toRollupNode(result, result.getObjectId("_id").toHexString());
+        nodes.put(root.getId(), root);
+        for (Document descendant : result.getList("descendants", Document.class)) {
+            FolderRollupDTO node = toRollupNode(descendant, descendant.getString("nodeId"));
+            nodes.put(node.getId(), node);
+        }
+        for (FolderRollupDTO node : nodes.values()) {
+            if (node != root && nodes.containsKey(node.getParentId())) {
+                nodes.get(node.getParentId()).getChildren().add(node);
             }
         }
+
+        for (Document stat : result.getList("taskStats", Document.class)) {
+            Document key = stat.get("_id", Document.class);
+            FolderRollupDTO node = nodes.get(key.getString("folderId"));
+            if (node == null || key.getString("status") == null) {
+                continue;
+            }
+            long count = ((Number) stat.get("count")).longValue();
+            node.getTaskCounts().merge(Task.Status.valueOf(key.getString("status")), count, Long::sum);
+            node.setTotalTasks(node.getTotalTasks() + count);
+            progressSums.merge(node.getId(), ((Number) stat.get("progressSum")).longValue(), Long::sum);
+        }
+
+        rollUp(root, progressSums);
+        return root;
+    }
+
+    /**
+     * Adds each child's totals into its parent (post-order) and returns the
+     * progress sum of the subtree.
+     */
+    private long rollUp(FolderRollupDTO node, Map<String, Long> progressSums) {
+        long progressSum = progressSums.getOrDefault(node.getId(), 0L);
+        for (FolderRollupDTO child : node.getChildren()) {
+            progressSum += rollUp(child, progressSums);
+            child.getTaskCounts().forEach((status, count) -> node.getTaskCounts().merge(status, count, Long::sum));
+            node.setTotalTasks(node.getTotalTasks() + child.getTotalTasks());
+        }
+        node.setAverageProgress(node.getTotalTasks() == 0 ? 0 : (double) progressSum / node.getTotalTasks());
+        return progressSum;
+    }
+
+    private FolderRollupDTO toRollupNode(Document folder, String id) {
+        FolderRollupDTO node = new FolderRollupDTO();
+        node.setId(id);
+        node.setName(folder.getString("name"));
+        node.setUserId(folder.getString("userId"));
+        node.setParentId(folder.getString("parentId"));
+        return node;
     }
 
     public void deleteFolder(String folderId) {
@@ -62,5 +180,69 @@ public class FolderService {
                 .orElseThrow(() -> new RuntimeException("Folder not found"));
         folder.setDeleted(true);
         folderRepository.save(folder);
+        folderTreeCache.folderRemoved(folder);
+    }
+
+    /**
+     * Soft-deletes the folder, every live descendant and the tasks inside them.
+     * The subtree comes from one $graphLookup; its $unwind is coalesced into the
+     * lookup and the nodes are sorted deepest first on the server (spilling to
+     * disk if needed), then streamed and written in chunks with updateMany.
+     * Deleting leaves first, root last, means an interrupted run never leaves
+     * live folders under a deleted one, so it can simply be repeated.
+     */
+    public long deleteFolderTree(String folderId) {
+        Folder root = (ObjectId.isValid(folderId) ? folderRepository.findById(folderId) : Optional.<Folder>empty())
+                .filter(folder -> !folder.isDeleted())
+                .orElseThrow(() -> new RuntimeException("Folder not found"));
+
+        Aggregation aggregation = Aggregation.newAggregation(
+                Aggregation.match(Criteria.where("_id").is(new ObjectId(folderId))),
+                Aggregation.stage(new Document("$graphLookup", new Document("from", MongoConfig.FOLDER_NODES_VIEW)
+                        .append("startWith", new Document("$toString", "$_id"))
+                        .append("connectFromField", "nodeId")
+                        .append("connectToField", "parentId")
+                        .append("as", "descendants")
+                        .append("depthField", "depth")
+                        .append("restrictSearchWithMatch", new Document("deleted", false)))),
+                Aggregation.unwind("descendants"),
+                Aggregation.stage(new Document("$project", new Document("_id", 0)
+                        .append("nodeId", "$descendants.nodeId")
+                        .append("userId", "$descendants.userId")
+                        .append("depth", "$descendants.depth"))),
+                Aggregation.sort(Sort.by(Sort.Direction.DESC, "depth")))
+                .withOptions(AggregationOptions.builder().allowDiskUse(true).cursorBatchSize(deleteBatchSize).build());
+
+        Set<String> userIds = new HashSet<>();
+        userIds.add(root.getUserId());
+        long deleted = 0;
+        List<String> chunk = new ArrayList<>();
+        try (Stream<Document> nodes = mongoTemplate.aggregateStream(aggregation, "folders", Document.class)) {
+            for (Document node : (Iterable<Document>) nodes::iterator) {
+                chunk.add(node.getString("nodeId"));
+                userIds.add(node.getString("userId"));
+                if (chunk.size() >= deleteBatchSize) {
+                    deleted += deleteFolders(chunk);
+                    chunk = new ArrayList<>();
+                }
+            }
+        }
+        deleted += deleteFolders(chunk);
+        deleted += deleteFolders(List.of(folderId));
+
+        userIds.stream().filter(Objects::nonNull).forEach(folderTreeCache::invalidate);
+        return deleted;
+    }
+
+    /** Tasks first, so a folder is never deleted while its tasks are still live. */
+    private long deleteFolders(List<String> folderIds) {
+        if (folderIds.isEmpty()) {
+            return 0;
+        }
+        taskService.deleteTasksInFolders(folderIds);
+        List<ObjectId> ids = folderIds.stream().map(ObjectId::new).toList();
+        return mongoTemplate.updateMulti(new Query(Criteria.where("_id").in(ids).and("deleted").is(false)),
+                new Update().set("deleted", true).set("updatedAt", LocalDateTime.now()), Folder.class)
+                .getModifiedCount();
     }
 }
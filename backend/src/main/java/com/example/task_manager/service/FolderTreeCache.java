@@ -0,0 +1,153 @@
+package com.example.task_manager.service;
+
+import com.example.task_manager.dto.FolderDTO;
+import com.example.task_manager.mapper.FolderMapper;
+import com.example.task_manager.model.Folder;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+/**
+ * Size-bounded cache of built folder trees keyed by userId. Each entry is an
+ * immutable snapshot; folder creation and deletion patch the snapshot from the
+ * cached folder list instead of reloading it from Mongo.
+ *
+ * FolderDTO is mutable, so callers always get their own copy of the tree and
+ * can never change the cached one.
+ */
+@Component
+public class FolderTreeCache implements MeterBinder {
+    private final Cache<String, Snapshot> cache;
+    private final FolderMapper folderMapper;
+
+    public FolderTreeCache(FolderMapper folderMapper,
+            @Value("${folder.tree-cache.max-size:10000}") long maxSize) {
+        this.folderMapper = folderMapper;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .recordStats()
+                .build();
+    }
+
+    public List<FolderDTO> get(String userId, Supplier<List<Folder>> loader) {
+        return copy(cache.get(userId, id -> snapshot(loader.get())).roots());
+    }
+
+    /** Cached tree of the user, or null without loading it. */
+    public List<FolderDTO> getIfPresent(String userId) {
+        Snapshot snapshot = cache.getIfPresent(userId);
+        return snapshot != null ? copy(snapshot.roots()) : null;
+    }
+
+    /** Builds a tree from already loaded folders without caching it. */
+    public List<FolderDTO> build(List<Folder> folders) {
+        return snapshot(folders).roots();
+    }
+
+    /**
+     * Strong ETag of the user's tree, computed once per snapshot from the folder
+     * ids and modification times.
+     */
+    public String eTag(String userId, Supplier<List<Folder>> loader) {
+        return cache.get(userId, id -> snapshot(loader.get())).eTag();
+    }
+
+    public List<String> folderIds(String userId, Supplier<List<Folder>> loader) {
+        return cache.get(userId, id -> snapshot(loader.get())).folders().stream()
+                .map(Folder::getId)
+                .toList();
+    }
+
+    public void folderAdded(Folder folder) {
+        cache.asMap().computeIfPresent(folder.getUserId(), (id, current) -> {
+            // A concurrent load may already have picked the new folder up
+            List<Folder> folders = current.folders().stream()
+                    .filter(f -> !f.getId().equals(folder.getId()))
+                    .collect(Collectors.toCollection(ArrayList::new));
+            folders.add(folder);
+            return snapshot(folders);
+        });
+    }
+
+    public void folderRemoved(Folder folder) {
+        cache.asMap().computeIfPresent(folder.getUserId(), (id, current) -> snapshot(current.folders().stream()
+                .filter(f -> !f.getId().equals(folder.getId()))
+                .collect(Collectors.toList())));
+    }
+
+    public void invalidate(String userId) {
+        cache.invalidate(userId);
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        CaffeineCacheMetrics.monitor(registry, cache, "folderTree");
+    }
+
+    public CacheStats stats() {
+        return cache.stats();
+    }
+
+    public long size() {
+        return cache.estimatedSize();
+    }
+
+    private Snapshot snapshot(List<Folder> folders) {
+        List<FolderDTO> allDTOs = folderMapper.toDTOList(folders);
+
+        Map<String, List<FolderDTO>> childrenMap = allDTOs.stream()
+                .filter(f -> f.getParentId() != null)
+                .collect(Collectors.groupingBy(FolderDTO::getParentId));
+
+        List<FolderDTO> rootFolders = allDTOs.stream()
+                .filter(f -> f.getParentId() == null)
+                .collect(Collectors.toList());
+
+        populateChildren(rootFolders, childrenMap);
+        String eTag = ETags.of(folders.stream()
+                .map(f -> f.getId() + "@" + f.getUpdatedAt())
+                .sorted()
+                .collect(Collectors.joining(",")));
+        return new Snapshot(List.copyOf(folders), rootFolders, eTag);
+    }
+
+    private static List<FolderDTO> copy(List<FolderDTO> folders) {
+        List<FolderDTO> copies = new ArrayList<>(folders.size());
+        for (FolderDTO folder : folders) {
+            FolderDTO copy = new FolderDTO();
+            copy.setId(folder.getId());
+            copy.setName(folder.getName());
+            copy.setUserId(folder.getUserId());
+            copy.setParentId(folder.getParentId());
+            copy.setCreatedAt(folder.getCreatedAt());
+            copy.setUpdatedAt(folder.getUpdatedAt());
+            copy.setChildren(folder.getChildren() != null ? copy(folder.getChildren()) : null);
+            copies.add(copy);
+        }
+        return copies;
+    }
+
+    private void populateChildren(List<FolderDTO> parents, Map<String, List<FolderDTO>> childrenMap) {
+        for (FolderDTO parent : parents) {
+            List<FolderDTO> children = childrenMap.get(parent.getId());
+            if (children != null) {
+                parent.setChildren(children);
+                populateChildren(children, childrenMap);
+            }
+        }
+    }
+
+    private record Snapshot(List<Folder> folders, List<FolderDTO> roots, String eTag) {
+    }
+}
@@ -0,0 +1,88 @@
+package com.example.task_manager.service;
+
+import com.example.task_manager.dto.FolderDTO;
+import com.example.task_manager.dto.TaskDTO;
+import com.example.task_manager.mapper.TaskMapper;
+import com.example.task_manager.model.Task;
+import com.example.task_manager.model.TaskAssignee;
+import com.example.task_manager.model.User;
+import com.example.task_manager.repository.ReactiveFolderRepository;
+import com.example.task_manager.repository.ReactiveTaskAssigneeRepository;
+import com.example.task_manager.repository.ReactiveTaskRepository;
+import com.example.task_manager.repository.ReactiveUserRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Non-blocking versions of the dashboard reads on the reactive Mongo driver.
+ * Results are streamed: downstream demand is propagated to the Mongo cursor,
+ * and assignees are joined per buffered batch of tasks, so neither the task
+ * list nor its assignees are ever fully held in memory.
+ */
+@Service
+@RequiredArgsConstructor
+public class ReactiveQueryService {
+    private static final int ENRICH_BATCH_SIZE = 256;
+
+    private final ReactiveTaskRepository taskRepository;
+    private final ReactiveTaskAssigneeRepository taskAssigneeRepository;
+    private final ReactiveFolderRepository folderRepository;
+    private final ReactiveUserRepository userRepository;
+    private final ReactiveMongoTemplate reactiveMongoTemplate;
+    private final TaskService taskService;
+    private final TaskMapper taskMapper;
+    private final FolderTreeCache folderTreeCache;
+
+    public Flux<TaskDTO> getTasksInFolder(String folderId) {
+        Flux<Task> tasks = taskRepository.findAllByFolderIdAndDeletedFalse(folderId);
+        if (taskService.readsEmbeddedAssignees()) {
+            return tasks.map(task -> {
+                TaskDTO dto = taskMapper.toDTO(task);
+                dto.setAssigneeIds(task.getAssigneeIds() != null ? task.getAssigneeIds() : new ArrayList<>());
+                return dto;
+            });
+        }
+        // concatMap keeps task order and has one assignee query in flight at a time
+        return tasks.buffer(ENRICH_BATCH_SIZE).concatMap(this::enrichBatch);
+    }
+
+    public Flux<TaskDTO> getTasksForUser(String userId, TaskService.AssignedSort sort, Sort.Direction direction,
+            int page, Integer size) {
+        TaskService.AssignedQuery query = taskService.assignedTasksQuery(userId, sort, direction, page, size);
+        return reactiveMongoTemplate.aggregate(query.aggregation(), query.collection(), TaskDTO.class);
+    }
+
+    /**
+     * Served from FolderTreeCache when present. A miss is loaded reactively but
+     * not cached, since a folder created during the load could otherwise be
+     * missing from the cached tree.
+     */
+    public Mono<List<FolderDTO>> getFolderTree(String userId) {
+        return Mono.justOrEmpty(folderTreeCache.getIfPresent(userId))
+                .switchIfEmpty(Mono.defer(() -> folderRepository.findAllByUserIdAndDeletedFalse(userId)
+                        .collectList()
+                        .map(folderTreeCache::build)));
+    }
+
+    public Flux<User> getUsers() {
+        return userRepository.findAll();
+    }
+
+    private Flux<TaskDTO> enrichBatch(List<Task> batch) {
+        List<String> taskIds = batch.stream().map(Task::getId).toList();
+        return taskAssigneeRepository.findAllByTaskIdIn(taskIds)
+                .collectMultimap(TaskAssignee::getTaskId, TaskAssignee::getUserId)
+                .flatMapIterable(assigneesByTask -> batch.stream().map(task -> {
+                    TaskDTO dto = taskMapper.toDTO(task);
+                    dto.setAssigneeIds(new ArrayList<>(assigneesByTask.getOrDefault(task.getId(), List.of())));
+                    return dto;
+                }).toList());
+    }
+}
@@ -0,0 +1,142 @@
+package com.example.task_manager.service;
+
+import com.example.task_manager.model.Task;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.Document;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.Aggregation;
+import org.springframework.data.mongodb.core.aggregation.AggregationOptions;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Stream;
+
+/**
+ * Rebuilds Task.subtaskCount and subtaskProgressSum from the live subtasks.
+ * TaskService keeps them up to date with increments; this backfills tasks
+ * written before the rollup existed and repairs increments that were lost,
+ * the same way TaskStatsService.reconcile repairs the dashboard counters.
+ *
+ * A pass groups the live subtasks by parentTaskId and only rewrites parents
+ * whose counters differ. Fixing a parent can move its progress and with it
+ * the grandparent's sum, so passes repeat until one changes nothing. The
+ * stats of repaired parents follow at the next stats reconciliation.
+ * Increments that land while a parent is being rewritten can be lost; the
+ * next run fixes them.
+ */
+@Service
+@Slf4j
+@RequiredArgsConstructor
+public class SubtaskRollupService {
+    private static final int WRITE_BATCH_SIZE = 500;
+    // Matches TaskService's bound on subtask depth
+    private static final int MAX_PASSES = 100;
+
+    private final MongoTemplate mongoTemplate;
+
+    @Scheduled(initialDelayString = "${task.rollup.reconcile-initial-delay-ms:120000}",
+            fixedDelayString = "${task.rollup.reconcile-interval-ms:3600000}")
+    public void reconcile() {
+        try {
+            long repaired = 0;
+            int passes = 0;
+            long changed;
+            do {
+                changed = repairPass();
+                repaired += changed;
+                passes++;
+            } while (changed > 0 && passes < MAX_PASSES);
+            log.info("Subtask rollups reconciled: {} parents repaired in {} passes", repaired, passes);
+        } catch (DataAccessException e) {
+            log.error("Subtask rollup reconciliation failed", e);
+        }
+    }
+
+    long repairPass() {
+        LocalDateTime now = LocalDateTime.now();
+        Set<String> parents = new HashSet<>();
+        List<Document> pending = new ArrayList<>();
+        long changed = 0;
+        try (Stream<Document> groups = mongoTemplate.aggregateStream(rollupAggregation(), "tasks", Document.class)) {
+            for (Document group : (Iterable<Document>) groups::iterator) {
+                parents.add(group.getString("_id"));
+                pending.add(group);
+                if (pending.size() >= WRITE_BATCH_SIZE) {
+                    changed += write(pending, now);
+                    pending.clear();
+                }
+            }
+        }
+        changed += write(pending, now);
+        return changed + clearChildless(parents, now);
+    }
+
+    /** Cancelled subtasks count for nothing and done ones as 100%, as in TaskService.Contribution. */
+    private static Aggregation rollupAggregation() {
+        Document progress = new Document("$cond", List.of(
+                new Document("$eq", List.of("$status", Task.Status.DONE.name())),
+                100,
+                new Document("$ifNull", List.of("$progress", 0))));
+        return Aggregation.newAggregation(
+                Aggregation.match(Criteria.where("deleted").is(false).and("parentTaskId").ne(null)
+                        .and("status").ne(Task.Status.CANCELLED.name())),
+                Aggregation.stage(new Document("$group", new Document("_id", "$parentTaskId")
+                        .append("count", new Document("$sum", 1))
+                        .append("sum", new Document("$sum", progress)))))
+                .withOptions(AggregationOptions.builder().allowDiskUse(true).build());
+    }
+
+    private long write(List<Document> groups, LocalDateTime now) {
+        if (groups.isEmpty()) {
+            return 0;
+        }
+        BulkOperations ops = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, Task.class);
+        for (Document group : groups) {
+            int count = group.get("count", Number.class).intValue();
+            long sum = group.get("sum", Number.class).longValue();
+            ops.updateOne(new Query(Criteria.where("_id").is(group.getString("_id")).and("deleted").is(false)
+                    .orOperator(Criteria.where("subtaskCount").ne(count),
+                            Criteria.where("subtaskProgressSum").ne(sum))),
+                    new Update().set("subtaskCount", count)
+                            .set("subtaskProgressSum", sum)
+                            .set("progress", (int) (sum / count))
+                            .set("updatedAt", now)
+                            .inc("version", 1));
+        }
+        return ops.execute().getModifiedCount();
+    }
+
+    /** Parents whose last live subtask is gone but whose counters say otherwise. */
+    private long clearChildless(Set<String> parents, LocalDateTime now) {
+        Query query = new Query(Criteria.where("deleted").is(false).orOperator(
+                Criteria.where("subtaskCount").exists(true).ne(0),
+                Criteria.where("subtaskProgressSum").exists(true).ne(0)));
+        query.fields().include("_id");
+        List<String> childless = new ArrayList<>();
+        try (Stream<Task> tasks = mongoTemplate.stream(query, Task.class)) {
+            tasks.map(Task::getId).filter(id -> !parents.contains(id)).forEach(childless::add);
+        }
+        long changed = 0;
+        for (int from = 0; from < childless.size(); from += WRITE_BATCH_SIZE) {
+            List<String> ids = childless.subList(from, Math.min(from + WRITE_BATCH_SIZE, childless.size()));
+            changed += mongoTemplate.updateMulti(new Query(Criteria.where("_id").in(ids).and("deleted").is(false)),
+                    new Update().set("subtaskCount", 0)
+                            .set("subtaskProgressSum", 0L)
+                            .set("updatedAt", now)
+                            .inc("version", 1),
+                    Task.class).getModifiedCount();
+        }
+        return changed;
+    }
+}
@@ -0,0 +1,56 @@
+package com.example.task_manager.service;
+
+import com.example.task_manager.model.Task;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SequenceWriter;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.LocalDateTime;
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+@Service
+@RequiredArgsConstructor
+public class TaskExportService {
+    private static final int CURSOR_BATCH_SIZE = 500;
+
+    private final MongoTemplate mongoTemplate;
+    private final ObjectMapper objectMapper;
+
+    /**
+     * Writes matching tasks as newline-delimited JSON, one document at a time
+     * straight from the Mongo cursor, so memory use does not depend on the
+     * number of tasks exported.
+     */
+    public void exportTasks(String folderId, Task.Status status, LocalDateTime updatedSince,
+            boolean includeDeleted, OutputStream out) throws IOException {
+        Criteria criteria = new Criteria();
+        if (folderId != null) {
+            criteria.and("folderId").is(folderId);
+        }
+        if (status != null) {
+            criteria.and("status").is(status);
+        }
+        if (updatedSince != null) {
+            criteria.and("updatedAt").gte(updatedSince);
+        }
+        if (!includeDeleted) {
+            criteria.and("deleted").is(false);
+        }
+        Query query = new Query(criteria).cursorBatchSize(CURSOR_BATCH_SIZE);
+
+        try (Stream<Task> tasks = mongoTemplate.stream(query, Task.class);
+                SequenceWriter writer = objectMapper.writer().withRootValueSeparator("\n").writeValues(out)) {
+            Iterator<Task> it = tasks.iterator();
+            while (it.hasNext()) {
+                writer.write(it.next());
+            }
+        }
+    }
+}
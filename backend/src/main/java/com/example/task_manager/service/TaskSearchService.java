@@ -0,0 +1,136 @@
+package com.example.task_manager.service;
+
+import com.example.task_manager.config.MongoIndexes;
+import com.example.task_manager.dto.TaskSearchResultDTO;
+import com.example.task_manager.model.Task;
+import com.mongodb.MongoExecutionTimeoutException;
+import lombok.RequiredArgsConstructor;
+import org.bson.Document;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.TextCriteria;
+import org.springframework.data.mongodb.core.query.TextQuery;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Relevance-ranked task search over the {@link MongoIndexes#TASK_TEXT} index,
+ * limited to the caller's folders. Each query runs with maxTimeMS so a broad
+ * term cannot hold a connection longer than the configured budget.
+ */
+@Service
+@RequiredArgsConstructor
+public class TaskSearchService {
+    private static final int SNIPPET_RADIUS = 60;
+
+    private final MongoTemplate mongoTemplate;
+    private final FolderService folderService;
+
+    @Value("${task.pagination.default-page-size:50}")
+    private int defaultPageSize;
+
+    @Value("${task.pagination.max-page-size:200}")
+    private int maxPageSize;
+
+    @Value("${task.search.max-time-ms:500}")
+    private long maxTimeMs;
+
+    @Value("${task.search.max-results:1000}")
+    private int maxResults;
+
+    public List<TaskSearchResultDTO> search(String userId, String text, int page, Integer size) {
+        if (text == null || text.isBlank()) {
+            throw new RuntimeException("Search query is required");
+        }
+        int pageSize = Math.min(size != null && size > 0 ? size : defaultPageSize, maxPageSize);
+        long skip = (long) Math.max(page, 0) * pageSize;
+        // Every page re-scores all matches, so deep pages are cut off instead of paid for
+        if (skip >= maxResults) {
+            return List.of();
+        }
+        List<String> folderIds = folderService.getFolderIds(userId);
+        if (folderIds.isEmpty()) {
+            return List.of();
+        }
+
+        TextQuery query = TextQuery.queryText(TextCriteria.forDefaultLanguage().matching(text))
+                .sortByScore();
+        query.addCriteria(Criteria.where("folderId").in(folderIds).and("deleted").is(false));
+        query.fields().include("title", "description", "folderId", "status", "priority");
+        query.skip(skip).limit((int) Math.min(pageSize, maxResults - skip)).maxTime(Duration.ofMillis(maxTimeMs));
+
+        List<Document> hits;
+        try {
+            hits = mongoTemplate.find(query, Document.class, mongoTemplate.getCollectionName(Task.class));
+        } catch (DataAccessException e) {
+            if (e instanceof QueryTimeoutException || e.getMostSpecificCause() instanceof MongoExecutionTimeoutException) {
+                throw new RuntimeException("Search took too long, please use more specific terms");
+            }
+            throw e;
+        }
+
+        List<String> terms = terms(text);
+        return hits.stream().map(hit -> toResult(hit, terms)).toList();
+    }
+
+    private static TaskSearchResultDTO toResult(Document hit, List<String> terms) {
+        TaskSearchResultDTO result = new TaskSearchResultDTO();
+        result.setId(hit.getObjectId("_id").toHexString());
+        result.setTitle(hit.getString("title"));
+        result.setFolderId(hit.getString("folderId"));
+        if (hit.getString("status") != null) {
+            result.setStatus(Task.Status.valueOf(hit.getString("status")));
+        }
+        if (hit.getString("priority") != null) {
+            result.setPriority(Task.Priority.valueOf(hit.getString("priority")));
+        }
+        Number score = hit.get("score", Number.class);
+        result.setScore(score != null ? score.doubleValue() : 0);
+        result.setSnippet(snippet(hit.getString("description"), terms));
+        return result;
+    }
+
+    /** Positive search terms, lower-cased; phrases are matched word by word. */
+    private static List<String> terms(String text) {
+        return Arrays.stream(text.toLowerCase(Locale.ROOT).replace("\"", " ").split("\\s+"))
+                .filter(term -> !term.isEmpty() && !term.startsWith("-"))
+                .toList();
+    }
+
+    /**
+     * Excerpt of the description centred on the earliest matched term, or its
+     * beginning when only the title matched.
+     */
+    static String snippet(String text, List<String> terms) {
+        if (text == null || text.isBlank()) {
+            return null;
+        }
+        String flat = text.replaceAll("\\s+", " ").trim();
+        int hit = -1;
+        int hitLength = 0;
+        for (String term : terms) {
+            // Matched on flat itself: lower-casing can change the length (e.g. Turkish İ) and shift offsets
+            Matcher matcher = Pattern.compile(Pattern.quote(term), Pattern.CASE_INSENSITIVE | Pattern.UNICODE_CASE)
+                    .matcher(flat);
+            if (matcher.find() && (hit < 0 || matcher.start() < hit)) {
+                hit = matcher.start();
+                hitLength = matcher.end() - matcher.start();
+            }
+        }
+        if (hit < 0) {
+            hit = 0;
+        }
+        int start = Math.max(0, hit - SNIPPET_RADIUS);
+        int end = Math.min(flat.length(), hit + hitLength + SNIPPET_RADIUS);
+        return (start > 0 ? "…" : "") + flat.substring(start, end) + (end < flat.length() ? "…" : "");
+    }
+}
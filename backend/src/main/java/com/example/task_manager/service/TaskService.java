@@ -1,16 +1,54 @@
 package com.example.task_manager.service;
 
+import com.example.task_manager.config.MongoConfig;
+import com.example.task_manager.dto.BulkTaskOperationDTO;
+import com.example.task_manager.dto.BulkTaskResultDTO;
+import com.example.task_manager.dto.CursorPage;
+import com.example.task_manager.dto.TaskChangeDTO;
 import com.example.task_manager.dto.TaskDTO;
+import com.example.task_manager.event.TaskAssignmentsEvent;
+import com.example.task_manager.event.TaskChangedEvent;
 import com.example.task_manager.mapper.TaskMapper;
 import com.example.task_manager.model.Task;
 import com.example.task_manager.model.TaskAssignee;
 import com.example.task_manager.repository.TaskAssigneeRepository;
 import com.example.task_manager.repository.TaskRepository;
+import com.mongodb.bulk.BulkWriteError;
+import com.mongodb.bulk.BulkWriteResult;
+import com.mongodb.client.result.UpdateResult;
 import lombok.RequiredArgsConstructor;
+import org.bson.Document;
+import org.bson.types.ObjectId;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.BulkOperationException;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.Aggregation;
+import org.springframework.data.mongodb.core.aggregation.AggregationOperation;
+import org.springframework.data.mongodb.core.aggregation.AggregationUpdate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
 
 @Service
@@ -19,7 +57,32 @@ public class TaskService {
     private final TaskRepository taskRepository;
     private final TaskAssigneeRepository taskAssigneeRepository;
     private final TaskMapper taskMapper;
+    private final MongoTemplate mongoTemplate;
     private final org.springframework.context.ApplicationEventPublisher eventPublisher;
+    private final TaskStatsService taskStatsService;
+
+    // Projection holding everything TaskStatsService.Snapshot reads except the assignees
+    private static final String[] STATS_FIELDS = { "folderId", "status", "priority", "progress", "endDate",
+            "deleted" };
+
+    // Bounds the ancestor walk and subtree lookups should parentTaskId ever form a cycle
+    private static final int MAX_SUBTASK_DEPTH = 100;
+    private static final String SUBTASK_PROGRESS_ERROR = "Progress of a task with subtasks follows its subtasks";
+
+    @Value("${task.pagination.default-page-size:50}")
+    private int defaultPageSize;
+
+    @Value("${task.pagination.max-page-size:200}")
+    private int maxPageSize;
+
+    @Value("${task.bulk.max-operations:1000}")
+    private int maxBulkOperations;
+
+    @Value("${task.bulk.delete-batch-size:1000}")
+    private int deleteBatchSize;
+
+    @Value("${task.assignees.storage:COLLECTION}")
+    private AssigneeStorage assigneeStorage;
 
     public TaskDTO createTask(TaskDTO taskDTO, String creatorId) {
         Task task = taskMapper.toEntity(taskDTO);
@@ -32,100 +95,941 @@ public class TaskService {
             task.setProgress(0);
         if (task.getProgress() > 100)
             task.setProgress(100);
-        return taskMapper.toDTO(taskRepository.save(task));
+        task.setSubtaskCount(0);
+        task.setSubtaskProgressSum(0);
+        Task saved = taskRepository.save(task);
+        taskStatsService.record(null, TaskStatsService.Snapshot.of(saved, List.of()));
+        rollUpProgress(saved.getParentTaskId(), Contribution.of(saved.getStatus(), saved.getProgress(), false));
+        TaskDTO created = taskMapper.toDTO(saved);
+        created.setAssigneeIds(new ArrayList<>());
+        publishChange(created.getFolderId(), TaskChangeDTO.Type.CREATED, created);
+        return created;
     }
 
     public List<TaskDTO> getTasksInFolder(String folderId) {
-        List<Task> tasks = taskRepository.findAllByFolderIdAndDeletedFalse(folderId);
-        return tasks.stream().map(this::enrichTaskDTO).collect(Collectors.toList());
+        return enrichTaskDTOs(taskRepository.findAllByFolderIdAndDeletedFalse(folderId));
     }
 
-    public List<TaskDTO> getTasksForUser(String userId) {
-        List<String> taskIds = taskAssigneeRepository.findAllByUserId(userId).stream()
-                .map(TaskAssignee::getTaskId)
-                .collect(Collectors.toList());
+    /**
+     * Direct subtasks, or with recursive the whole subtree in one aggregation:
+     * $graphLookup follows parentTaskId through the task_nodes view. The
+     * subtree is returned flat, ordered by depth; parentTaskId links it up.
+     */
+    public List<TaskDTO> getSubtasks(String taskId, boolean recursive) {
+        if (!recursive) {
+            return enrichTaskDTOs(taskRepository.findAllByParentTaskIdAndDeletedFalse(taskId));
+        }
+        if (!ObjectId.isValid(taskId)) {
+            throw new RuntimeException("Task not found");
+        }
+        Aggregation aggregation = Aggregation.newAggregation(
+                Aggregation.match(Criteria.where("_id").is(new ObjectId(taskId)).and("deleted").is(false)),
+                Aggregation.stage(new Document("$graphLookup", new Document("from", MongoConfig.TASK_NODES_VIEW)
+                        .append("startWith", new Document("$toString", "$_id"))
+                        .append("connectFromField", "nodeId")
+                        .append("connectToField", "parentTaskId")
+                        .append("as", "descendants")
+                        .append("depthField", "depth")
+                        .append("maxDepth", MAX_SUBTASK_DEPTH)
+                        .append("restrictSearchWithMatch", new Document("deleted", false)))),
+                Aggregation.unwind("descendants"),
+                Aggregation.stage(new Document("$replaceRoot", new Document("newRoot", "$descendants"))),
+                Aggregation.sort(Sort.by(Sort.Direction.ASC, "depth").and(Sort.by(Sort.Direction.ASC, "_id"))));
+        return enrichTaskDTOs(mongoTemplate.aggregate(aggregation, "tasks", Task.class).getMappedResults());
+    }
 
-        return taskIds.stream()
-                .map(id -> taskRepository.findById(id).orElse(null))
-                .filter(t -> t != null && !t.isDeleted())
-                .map(this::enrichTaskDTO)
-                .collect(Collectors.toList());
+    public CursorPage<TaskDTO> getTasksInFolderPage(String folderId, String cursor, Integer limit) {
+        CursorPage<Task> page = findPage(
+                Criteria.where("folderId").is(folderId).and("deleted").is(false), cursor, limit);
+        return new CursorPage<>(enrichTaskDTOs(page.getItems()), page.getNextCursor());
+    }
+
+    /**
+     * Admin listing of every task, including soft-deleted ones.
+     */
+    public CursorPage<Task> getAllTasksPage(String cursor, Integer limit) {
+        return findPage(new Criteria(), cursor, limit);
+    }
+
+    /**
+     * Size of the admin listing, soft-deleted tasks included. Taken from the
+     * collection metadata rather than counted, so it costs nothing at any size.
+     */
+    public long countAllTasks() {
+        return mongoTemplate.estimatedCount(Task.class);
+    }
+
+    /**
+     * Keyset pagination on _id: each page starts strictly after the last id of the
+     * previous one, so cost does not grow with the page number. One extra document
+     * is read to decide whether a next page exists.
+     */
+    private CursorPage<Task> findPage(Criteria criteria, String cursor, Integer limit) {
+        int pageSize = Math.min(limit != null && limit > 0 ? limit : defaultPageSize, maxPageSize);
+        if (cursor != null && !cursor.isEmpty()) {
+            String lastId = CursorPage.decodeCursor(cursor);
+            if (!ObjectId.isValid(lastId)) {
+                throw new RuntimeException("Invalid cursor");
+            }
+            criteria = criteria.and("_id").gt(new ObjectId(lastId));
+        }
+        Query query = new Query(criteria)
+                .with(Sort.by(Sort.Direction.ASC, "_id"))
+                .limit(pageSize + 1);
+        List<Task> tasks = mongoTemplate.find(query, Task.class);
+
+        String nextCursor = null;
+        if (tasks.size() > pageSize) {
+            tasks = new ArrayList<>(tasks.subList(0, pageSize));
+            nextCursor = CursorPage.encodeCursor(tasks.get(pageSize - 1).getId());
+        }
+        return new CursorPage<>(tasks, nextCursor);
     }
 
-    @Transactional
+    /**
+     * Tasks assigned to the user, resolved in a single aggregation on task_assignees:
+     * $lookup into tasks, drop deleted ones and collect every assignee of each task.
+     * With embedded assignees this is a plain indexed match on tasks instead.
+     * Sorting and paging are applied server-side; a null size returns all matches.
+     */
+    public List<TaskDTO> getTasksForUser(String userId, AssignedSort sort, Sort.Direction direction,
+            int page, Integer size) {
+        AssignedQuery query = assignedTasksQuery(userId, sort, direction, page, size);
+        return mongoTemplate.aggregate(query.aggregation(), query.collection(), TaskDTO.class).getMappedResults();
+    }
+
+    /** Pipeline behind getTasksForUser, shared with the reactive read path. */
+    AssignedQuery assignedTasksQuery(String userId, AssignedSort sort, Sort.Direction direction,
+            int page, Integer size) {
+        if (page < 0) {
+            throw new RuntimeException("Page must not be negative");
+        }
+        if (size != null && size < 1) {
+            throw new RuntimeException("Page size must be positive");
+        }
+        if (readsEmbeddedAssignees()) {
+            List<AggregationOperation> stages = new ArrayList<>();
+            stages.add(Aggregation.match(Criteria.where("assigneeIds").is(userId).and("deleted").is(false)));
+            addSortAndPage(stages, sort, direction, page, size);
+            return new AssignedQuery("tasks", Aggregation.newAggregation(stages));
+        }
+
+        List<AggregationOperation> stages = new ArrayList<>();
+        stages.add(Aggregation.match(Criteria.where("userId").is(userId)));
+        stages.add(Aggregation.stage(new Document("$addFields", new Document("taskObjectId",
+                new Document("$convert", new Document("input", "$taskId")
+                        .append("to", "objectId")
+                        .append("onError", null)
+                        .append("onNull", null))))));
+        stages.add(Aggregation.lookup("tasks", "taskObjectId", "_id", "task"));
+        stages.add(Aggregation.unwind("task"));
+        stages.add(Aggregation.match(Criteria.where("task.deleted").is(false)));
+        stages.add(Aggregation.replaceRoot("task"));
+        // Sort keys only use task fields, so co-assignees are only joined for the page
+        addSortAndPage(stages, sort, direction, page, size);
+        stages.add(Aggregation.stage(new Document("$addFields", new Document("taskIdString",
+                new Document("$toString", "$_id")))));
+        stages.add(Aggregation.lookup("task_assignees", "taskIdString", "taskId", "coAssignees"));
+        stages.add(Aggregation.stage(new Document("$addFields", new Document("assigneeIds", "$coAssignees.userId"))));
+        stages.add(Aggregation.project().andExclude("taskIdString", "coAssignees"));
+        return new AssignedQuery("task_assignees", Aggregation.newAggregation(stages));
+    }
+
+    record AssignedQuery(String collection, Aggregation aggregation) {
+    }
+
+    private static void addSortAndPage(List<AggregationOperation> stages, AssignedSort sort,
+            Sort.Direction direction, int page, Integer size) {
+        if (sort != null) {
+            stages.add(Aggregation.stage(new Document("$addFields", new Document("sortKey", sort.sortKey()))));
+            stages.add(Aggregation.sort(Sort.by(direction, "sortKey").and(Sort.by(Sort.Direction.ASC, "_id"))));
+        }
+        if (size != null) {
+            stages.add(Aggregation.skip((long) page * size));
+            stages.add(Aggregation.limit(size));
+        }
+    }
+
+    /**
+     * Removes the assignment if it exists, otherwise inserts it. Both steps are
+     * single atomic operations, and concurrent toggles cannot create duplicates
+     * only because task_user_idx is unique: without it two upserts can both
+     * insert. MongoIndexes builds that index at startup and clears duplicates
+     * left from before it existed. The assigned event is only published when
+     * this call actually inserted the link.
+     */
     public void toggleAssignee(String taskId, String userId) {
-        var existing = taskAssigneeRepository.findAllByTaskId(taskId).stream()
-                .filter(a -> a.getUserId().equals(userId))
-                .findFirst();
-        if (existing.isPresent()) {
-            taskAssigneeRepository.delete(existing.get());
+        TaskChangeDTO.Type type;
+        if (taskAssigneeRepository.deleteByTaskIdAndUserId(taskId, userId) > 0) {
+            type = TaskChangeDTO.Type.ASSIGNEE_REMOVED;
+        } else if (insertAssignee(taskId, userId)) {
+            eventPublisher.publishEvent(new com.example.task_manager.event.TaskAssignedEvent(this, taskId, userId));
+            type = TaskChangeDTO.Type.ASSIGNEE_ADDED;
         } else {
-            taskAssigneeRepository.save(TaskAssignee.builder()
+            // A concurrent toggle inserted the same link between our delete and upsert
+            return;
+        }
+        boolean added = type == TaskChangeDTO.Type.ASSIGNEE_ADDED;
+        // A concurrent toggle may already have reversed the link; the array follows the link, not this call
+        boolean linked = writesEmbeddedAssignees() ? taskAssigneeRepository.existsByTaskIdAndUserId(taskId, userId)
+                : added;
+        Task task = touchForAssigneeChange(taskId, userId, linked);
+        if (task == null) {
+            return;
+        }
+        // The folder counters cancel out, only the user's change
+        TaskStatsService.Snapshot without = TaskStatsService.Snapshot.of(task, List.of());
+        TaskStatsService.Snapshot with = without.withAssignees(List.of(userId));
+        taskStatsService.record(added ? without : with, added ? with : without);
+        String folderId = task.getFolderId();
+        if (folderId != null) {
+            eventPublisher.publishEvent(new TaskChangedEvent(this, folderId, TaskChangeDTO.builder()
+                    .type(type)
                     .taskId(taskId)
                     .userId(userId)
-                    .build());
-            eventPublisher.publishEvent(new com.example.task_manager.event.TaskAssignedEvent(this, taskId, userId));
+                    .build()));
         }
     }
 
-    public TaskDTO updateTaskStatus(String taskId, Task.Status status) {
-        Task task = taskRepository.findById(taskId)
-                .orElseThrow(() -> new RuntimeException("Task not found"));
-        task.setStatus(status);
-        return enrichTaskDTO(taskRepository.save(task));
+    public TaskDTO updateTaskStatus(String taskId, Task.Status status, Long expectedVersion) {
+        return applyUpdate(taskId, expectedVersion, null, new Update().set("status", status),
+                task -> task.setStatus(status));
     }
 
     /**
      * Only the creator of the task can update the progress.
      */
-    public TaskDTO updateProgress(String taskId, int progress, String userId) {
-        Task task = taskRepository.findById(taskId)
-                .orElseThrow(() -> new RuntimeException("Task not found"));
-
-        if (!task.getCreatorId().equals(userId)) {
-            throw new RuntimeException("Only the task creator can update progress");
-        }
-
+    public TaskDTO updateProgress(String taskId, int progress, String userId, Long expectedVersion) {
         if (progress < 0)
             progress = 0;
         if (progress > 100)
             progress = 100;
-        task.setProgress(progress);
-        return enrichTaskDTO(taskRepository.save(task));
+        int value = progress;
+        return applyUpdate(taskId, expectedVersion, userId, new Update().set("progress", value),
+                task -> task.setProgress(value));
     }
 
     public TaskDTO updateTask(String taskId, TaskDTO updates) {
-        Task task = taskRepository.findById(taskId)
-                .orElseThrow(() -> new RuntimeException("Task not found"));
+        Update update = new Update();
         if (updates.getTitle() != null) {
-            task.setTitle(updates.getTitle());
+            update.set("title", updates.getTitle());
         }
         if (updates.getDescription() != null) {
-            task.setDescription(updates.getDescription());
+            update.set("description", updates.getDescription());
         }
-        return enrichTaskDTO(taskRepository.save(task));
+        return applyUpdate(taskId, updates.getVersion(), null, update, task -> {
+            if (updates.getTitle() != null) {
+                task.setTitle(updates.getTitle());
+            }
+            if (updates.getDescription() != null) {
+                task.setDescription(updates.getDescription());
+            }
+        });
     }
 
-    public void deleteTask(String taskId, String userId) {
-        Task task = taskRepository.findById(taskId)
+    /**
+     * Runs modifyTask and mirrors the update onto the returned previous state,
+     * so the stats delta and the response both come from the same round trip.
+     */
+    private TaskDTO applyUpdate(String taskId, Long expectedVersion, String requiredCreatorId, Update update,
+            Consumer<Task> change) {
+        LocalDateTime now = LocalDateTime.now();
+        Task task = modifyTask(taskId, expectedVersion, requiredCreatorId, update, now);
+        TaskStatsService.Snapshot before = TaskStatsService.Snapshot.of(task, List.of());
+        change.accept(task);
+        task.setUpdatedAt(now);
+        task.setVersion(task.getVersion() != null ? task.getVersion() + 1 : 1);
+
+        TaskDTO dto = enrichTaskDTO(task);
+        taskStatsService.record(before.withAssignees(dto.getAssigneeIds()),
+                TaskStatsService.Snapshot.of(task, dto.getAssigneeIds()));
+        rollUpProgress(task.getParentTaskId(), Contribution.of(task.getStatus(), task.getProgress(), false)
+                .minus(Contribution.of(before.status(), before.progress(), false)));
+        return publishUpdate(dto);
+    }
+
+    /**
+     * Applies a targeted update in one findAndModify round trip and returns the
+     * task as it was before. The version (when the caller sent one) and the
+     * creator restriction are part of the query, so a concurrent edit or a
+     * foreign user simply matches nothing; only then is the task read again to
+     * report why.
+     */
+    private Task modifyTask(String taskId, Long expectedVersion, String requiredCreatorId, Update update,
+            LocalDateTime now) {
+        Criteria criteria = Criteria.where("_id").is(taskId).and("deleted").is(false);
+        if (expectedVersion != null) {
+            criteria.and("version").is(expectedVersion);
+        }
+        if (requiredCreatorId != null) {
+            criteria.and("creatorId").is(requiredCreatorId);
+        }
+        if (update.modifies("progress")) {
+            criteria.and("subtaskCount").not().gt(0);
+        }
+        update.set("updatedAt", now).inc("version", 1);
+
+        Task task = mongoTemplate.findAndModify(new Query(criteria), update,
+                FindAndModifyOptions.options().returnNew(false), Task.class);
+        if (task != null) {
+            return task;
+        }
+
+        Task current = taskRepository.findById(taskId)
+                .filter(t -> !t.isDeleted())
                 .orElseThrow(() -> new RuntimeException("Task not found"));
+        if (requiredCreatorId != null && !requiredCreatorId.equals(current.getCreatorId())) {
+            throw new RuntimeException("Only the task creator can update progress");
+        }
+        if (update.modifies("progress") && current.getSubtaskCount() > 0) {
+            throw new RuntimeException(SUBTASK_PROGRESS_ERROR);
+        }
+        throw new OptimisticLockingFailureException("Task was modified concurrently, please reload");
+    }
+
+    /**
+     * Soft delete in one findAndModify on deleted=false, so the task is taken out
+     * of the stats and its parent's rollup only by the call that deleted it.
+     */
+    public void deleteTask(String taskId, String userId) {
+        Query query = new Query(Criteria.where("_id").is(taskId).and("deleted").is(false));
+        Task task = mongoTemplate.findAndModify(query,
+                new Update().set("deleted", true).set("updatedAt", LocalDateTime.now()).inc("version", 1),
+                Task.class);
+        if (task == null) {
+            if (!taskRepository.existsById(taskId)) {
+                throw new RuntimeException("Task not found");
+            }
+            return;
+        }
+        taskStatsService.record(TaskStatsService.Snapshot.of(task, enrichTaskDTO(task).getAssigneeIds()), null);
+        rollUpProgress(task.getParentTaskId(),
+                Contribution.NONE.minus(Contribution.of(task.getStatus(), task.getProgress(), false)));
         task.setDeleted(true);
-        taskRepository.save(task);
+        publishChange(task.getFolderId(), TaskChangeDTO.Type.DELETED, taskMapper.toDTO(task));
     }
 
-    public TaskDTO updateTaskPriority(String taskId, Task.Priority priority) {
-        Task task = taskRepository.findById(taskId)
-                .orElseThrow(() -> new RuntimeException("Task not found"));
-        task.setPriority(priority);
-        return enrichTaskDTO(taskRepository.save(task));
+    /**
+     * Admin hard delete. A live task is taken out of the stats, using the
+     * document findAndRemove returned, so a concurrent delete is not counted twice.
+     */
+    public void purgeTask(String taskId) {
+        Task task = mongoTemplate.findAndRemove(new Query(Criteria.where("_id").is(taskId)), Task.class);
+        if (task != null && !task.isDeleted()) {
+            taskStatsService.record(TaskStatsService.Snapshot.of(task, enrichTaskDTO(task).getAssigneeIds()), null);
+            rollUpProgress(task.getParentTaskId(),
+                    Contribution.NONE.minus(Contribution.of(task.getStatus(), task.getProgress(), false)));
+        }
+    }
+
+    /**
+     * Bumps updatedAt and version of the task so that its ETag changes, mirrors
+     * the link's current state into Task.assigneeIds when that is written, and
+     * returns the task's folder and stats fields from the same round trip.
+     */
+    private Task touchForAssigneeChange(String taskId, String userId, boolean linked) {
+        Update update = assigneeChangeUpdate(userId, linked);
+        Query query = new Query(Criteria.where("_id").is(taskId));
+        query.fields().include(STATS_FIELDS);
+        return mongoTemplate.findAndModify(query, update, Task.class);
+    }
+
+    private Update assigneeChangeUpdate(String userId, boolean added) {
+        Update update = new Update().set("updatedAt", LocalDateTime.now()).inc("version", 1);
+        if (writesEmbeddedAssignees()) {
+            return added ? update.addToSet("assigneeIds", userId) : update.pull("assigneeIds", userId);
+        }
+        return update;
+    }
+
+    private boolean insertAssignee(String taskId, String userId) {
+        try {
+            UpdateResult result = mongoTemplate.upsert(
+                    new Query(Criteria.where("taskId").is(taskId).and("userId").is(userId)),
+                    new Update().setOnInsert("taskId", taskId).setOnInsert("userId", userId),
+                    TaskAssignee.class);
+            return result.getUpsertedId() != null;
+        } catch (DuplicateKeyException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Applies a list of operations as two unordered bulk writes, one for task
+     * fields and one for assignee links. Operations are checked up front with a
+     * single lookup of all referenced tasks, and write errors are mapped back to
+     * their request index. Assignment notifications go out once for the batch.
+     *
+     * Unordered writes may be applied in any order (mongos splits and runs them
+     * in parallel on sharded clusters), so a request may change each task's
+     * fields once and each of its assignees once; repeats are failed. The
+     * remaining writes commute, which keeps the stats and rollup replay valid.
+     */
+    public List<BulkTaskResultDTO> bulkUpdate(List<BulkTaskOperationDTO> operations, String userId) {
+        if (operations.size() > maxBulkOperations) {
+            throw new RuntimeException("Too many operations in one request (max " + maxBulkOperations + ")");
+        }
+        List<BulkTaskResultDTO> results = new ArrayList<>();
+        Map<String, Task> tasks = findTasksForBulk(operations);
+
+        BulkOperations taskOps = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, Task.class);
+        BulkOperations assigneeOps = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, TaskAssignee.class);
+        List<Integer> taskOpIndexes = new ArrayList<>();
+        List<Integer> assigneeOpIndexes = new ArrayList<>();
+        Map<String, Integer> firstChange = new HashMap<>();
+        LocalDateTime now = LocalDateTime.now();
+
+        for (int i = 0; i < operations.size(); i++) {
+            BulkTaskOperationDTO op = operations.get(i);
+            results.add(new BulkTaskResultDTO(i, op.getTaskId(), true, null));
+            Task task = tasks.get(op.getTaskId());
+            String error = validateBulkOperation(op, task, userId);
+            if (error != null) {
+                fail(results.get(i), error);
+                continue;
+            }
+            Integer earlier = firstChange.putIfAbsent(isAssigneeOperation(op)
+                    ? "assignee:" + op.getTaskId() + ":" + op.getUserId()
+                    : "task:" + op.getTaskId(), i);
+            if (earlier != null) {
+                fail(results.get(i), "Already changed by operation " + earlier + " of this request");
+                continue;
+            }
+
+            Query byTask = new Query(Criteria.where("_id").is(task.getId()).and("deleted").is(false));
+            Update update = new Update().set("updatedAt", now).inc("version", 1);
+            switch (op.getType()) {
+                case STATUS -> taskOps.updateOne(byTask, update.set("status", op.getStatus()));
+                case PRIORITY -> taskOps.updateOne(byTask, update.set("priority", op.getPriority()));
+                case PROGRESS -> taskOps.updateOne(byTask,
+                        update.set("progress", Math.max(0, Math.min(100, op.getProgress()))));
+                case DELETE -> taskOps.updateOne(byTask, update.set("deleted", true));
+                case ASSIGN -> assigneeOps.upsert(
+                        new Query(Criteria.where("taskId").is(task.getId()).and("userId").is(op.getUserId())),
+                        new Update().setOnInsert("taskId", task.getId()).setOnInsert("userId", op.getUserId()));
+                case UNASSIGN -> assigneeOps.remove(
+                        new Query(Criteria.where("taskId").is(task.getId()).and("userId").is(op.getUserId())));
+            }
+            if (isAssigneeOperation(op)) {
+                taskOps.updateOne(new Query(Criteria.where("_id").is(task.getId())),
+                        assigneeChangeUpdate(op.getUserId(), op.getType() == BulkTaskOperationDTO.Type.ASSIGN));
+                taskOpIndexes.add(i);
+            }
+            (isAssigneeOperation(op) ? assigneeOpIndexes : taskOpIndexes).add(i);
+        }
+
+        failUnmatched(operations, taskOpIndexes, executeBulk(taskOps, taskOpIndexes, results), results);
+        BulkWriteResult assigneeResult = executeBulk(assigneeOps, assigneeOpIndexes, results);
+
+        List<TaskAssignee> created = new ArrayList<>();
+        if (assigneeResult != null) {
+            assigneeResult.getUpserts().forEach(upsert -> {
+                BulkTaskOperationDTO op = operations.get(assigneeOpIndexes.get(upsert.getIndex()));
+                created.add(TaskAssignee.builder().taskId(op.getTaskId()).userId(op.getUserId()).build());
+            });
+        }
+        if (!created.isEmpty()) {
+            eventPublisher.publishEvent(new TaskAssignmentsEvent(this, created));
+        }
+        publishBulkChanges(operations, results, tasks);
+        recordBulkStats(operations, results, tasks);
+        return results;
+    }
+
+    /**
+     * Replays the successful operations on the tasks loaded before the bulk
+     * write and records the difference, with a single assignee lookup for all
+     * touched tasks.
+     */
+    private void recordBulkStats(List<BulkTaskOperationDTO> operations, List<BulkTaskResultDTO> results,
+            Map<String, Task> tasks) {
+        Set<String> touched = new LinkedHashSet<>();
+        for (int i = 0; i < operations.size(); i++) {
+            if (results.get(i).isSuccess()) {
+                touched.add(operations.get(i).getTaskId());
+            }
+        }
+        if (touched.isEmpty()) {
+            return;
+        }
+        Map<String, Set<String>> assignees = assigneesOf(touched.stream().map(tasks::get).toList());
+        List<TaskStatsService.Snapshot> before = touched.stream()
+                .map(id -> TaskStatsService.Snapshot.of(tasks.get(id), assignees.get(id)))
+                .collect(Collectors.toList());
+
+        for (int i = 0; i < operations.size(); i++) {
+            BulkTaskOperationDTO op = operations.get(i);
+            if (!results.get(i).isSuccess()) {
+                continue;
+            }
+            Task task = tasks.get(op.getTaskId());
+            switch (op.getType()) {
+                case STATUS -> task.setStatus(op.getStatus());
+                case PRIORITY -> task.setPriority(op.getPriority());
+                case PROGRESS -> task.setProgress(Math.max(0, Math.min(100, op.getProgress())));
+                case DELETE -> task.setDeleted(true);
+                case ASSIGN -> assignees.get(task.getId()).add(op.getUserId());
+                case UNASSIGN -> assignees.get(task.getId()).remove(op.getUserId());
+            }
+        }
+        List<TaskStatsService.Snapshot> after = touched.stream()
+                .map(id -> TaskStatsService.Snapshot.of(tasks.get(id), assignees.get(id)))
+                .collect(Collectors.toList());
+        taskStatsService.record(before, after);
+
+        // Sibling changes are summed so each parent chain is walked once
+        Map<String, Contribution> rollups = new LinkedHashMap<>();
+        int index = 0;
+        for (String id : touched) {
+            TaskStatsService.Snapshot previous = before.get(index);
+            TaskStatsService.Snapshot current = after.get(index++);
+            String parentId = tasks.get(id).getParentTaskId();
+            if (parentId != null) {
+                rollups.merge(parentId, Contribution.of(current.status(), current.progress(), current.deleted())
+                        .minus(Contribution.of(previous.status(), previous.progress(), previous.deleted())),
+                        Contribution::plus);
+            }
+        }
+        rollups.forEach(this::rollUpProgress);
+    }
+
+    /**
+     * Assignee ids per task with one query at most; the tasks must have been
+     * loaded with assigneeIds when those are the read source.
+     */
+    private Map<String, Set<String>> assigneesOf(List<Task> tasks) {
+        Map<String, Set<String>> assignees = new HashMap<>();
+        if (readsEmbeddedAssignees()) {
+            tasks.forEach(task -> assignees.put(task.getId(), new LinkedHashSet<>(
+                    task.getAssigneeIds() != null ? task.getAssigneeIds() : List.of())));
+            return assignees;
+        }
+        tasks.forEach(task -> assignees.put(task.getId(), new LinkedHashSet<>()));
+        taskAssigneeRepository.findAllByTaskIdIn(assignees.keySet())
+                .forEach(link -> assignees.get(link.getTaskId()).add(link.getUserId()));
+        return assignees;
+    }
+
+    /**
+     * Soft-deletes every live task in the given folders, one batch at a time:
+     * the batch is read with its stats fields, flagged with a single updateMany
+     * and taken out of the stats and its parents' rollups. No change events are
+     * published for the deleted tasks since the folders are being deleted as
+     * well. Assignee links are kept, as with deleteTask; the purge job archives
+     * them together with their task.
+     */
+    public long deleteTasksInFolders(Collection<String> folderIds) {
+        long deleted = 0;
+        while (true) {
+            Query query = new Query(Criteria.where("folderId").in(folderIds).and("deleted").is(false))
+                    .limit(deleteBatchSize);
+            query.fields().include(STATS_FIELDS).include("assigneeIds", "parentTaskId");
+            List<Task> tasks = mongoTemplate.find(query, Task.class);
+            if (tasks.isEmpty()) {
+                return deleted;
+            }
+            List<String> ids = tasks.stream().map(Task::getId).collect(Collectors.toList());
+            // Millisecond precision, as stored, so the deletion time can be matched below
+            LocalDateTime now = LocalDateTime.now().truncatedTo(ChronoUnit.MILLIS);
+            UpdateResult result = mongoTemplate.updateMulti(
+                    new Query(Criteria.where("_id").in(ids).and("deleted").is(false)),
+                    new Update().set("deleted", true).set("updatedAt", now).inc("version", 1),
+                    Task.class);
+            deleted += result.getModifiedCount();
+            if (result.getModifiedCount() < tasks.size()) {
+                tasks = deletedByThisBatch(tasks, ids, now);
+            }
+
+            Map<String, Set<String>> assignees = assigneesOf(tasks);
+            taskStatsService.record(tasks.stream()
+                    .map(task -> TaskStatsService.Snapshot.of(task, assignees.get(task.getId())))
+                    .collect(Collectors.toList()), List.of());
+
+            // Parents deleted in this batch need no rollup; each remaining one is walked once
+            Map<String, Contribution> rollups = new LinkedHashMap<>();
+            for (Task task : tasks) {
+                if (task.getParentTaskId() != null && !ids.contains(task.getParentTaskId())) {
+                    rollups.merge(task.getParentTaskId(),
+                            Contribution.NONE.minus(Contribution.of(task.getStatus(), task.getProgress(), false)),
+                            Contribution::plus);
+                }
+            }
+            rollups.forEach(this::rollUpProgress);
+        }
+    }
+
+    /**
+     * Some tasks of the batch were deleted by someone else between the read and
+     * the updateMany. Only the ones carrying this batch's deletion time were
+     * deleted here; the others were already counted out by their deleter.
+     */
+    private List<Task> deletedByThisBatch(List<Task> tasks, List<String> ids, LocalDateTime deletedAt) {
+        Query query = new Query(Criteria.where("_id").in(ids).and("deleted").is(true).and("updatedAt").is(deletedAt));
+        query.fields().include("_id");
+        Set<String> mine = mongoTemplate.find(query, Task.class).stream()
+                .map(Task::getId)
+                .collect(Collectors.toSet());
+        return tasks.stream().filter(task -> mine.contains(task.getId())).toList();
+    }
+
+    private Map<String, Task> findTasksForBulk(List<BulkTaskOperationDTO> operations) {
+        List<ObjectId> ids = operations.stream()
+                .map(BulkTaskOperationDTO::getTaskId)
+                .filter(id -> id != null && ObjectId.isValid(id))
+                .distinct()
+                .map(ObjectId::new)
+                .collect(Collectors.toList());
+        Query query = new Query(Criteria.where("_id").in(ids));
+        query.fields().include(STATS_FIELDS).include("creatorId", "assigneeIds", "parentTaskId", "subtaskCount");
+        return mongoTemplate.find(query, Task.class).stream()
+                .collect(Collectors.toMap(Task::getId, t -> t));
+    }
+
+    private String validateBulkOperation(BulkTaskOperationDTO op, Task task, String userId) {
+        if (op.getType() == null) {
+            return "Operation type is required";
+        }
+        if (task == null || task.isDeleted()) {
+            return "Task not found";
+        }
+        return switch (op.getType()) {
+            case STATUS -> op.getStatus() == null ? "Status is required" : null;
+            case PRIORITY -> op.getPriority() == null ? "Priority is required" : null;
+            case PROGRESS -> op.getProgress() == null ? "Progress is required"
+                    : !task.getCreatorId().equals(userId) ? "Only the task creator can update progress"
+                    : task.getSubtaskCount() > 0 ? SUBTASK_PROGRESS_ERROR : null;
+            case ASSIGN, UNASSIGN -> op.getUserId() == null ? "User is required" : null;
+            case DELETE -> null;
+        };
+    }
+
+    private static boolean isAssigneeOperation(BulkTaskOperationDTO op) {
+        return op.getType() == BulkTaskOperationDTO.Type.ASSIGN || op.getType() == BulkTaskOperationDTO.Type.UNASSIGN;
+    }
+
+    private BulkWriteResult executeBulk(BulkOperations ops, List<Integer> itemIndexes,
+            List<BulkTaskResultDTO> results) {
+        if (itemIndexes.isEmpty()) {
+            return null;
+        }
+        try {
+            return ops.execute();
+        } catch (BulkOperationException e) {
+            for (BulkWriteError error : e.getErrors()) {
+                // A concurrent upsert of the same link is as good as our own
+                if (error.getCode() != 11000) {
+                    fail(results.get(itemIndexes.get(error.getIndex())), error.getMessage());
+                }
+            }
+            return e.getResult();
+        }
+    }
+
+    /**
+     * A bulk write only reports its total match count, and an updateOne that
+     * matched nothing is not an error. When the count falls short, some task was
+     * deleted between the lookup and the write; the operations that found their
+     * task gone are marked failed so that events, stats and rollups only replay
+     * writes that happened. Each task has at most one field operation, so this
+     * does not depend on the order the writes were applied in.
+     *
+     * A delete leaves its task gone whether it matched or a concurrent delete
+     * got there first. If the shortfall is not explained by the other
+     * operations, every such delete is failed; the stats reconcile job repairs
+     * the counters in that rare case.
+     */
+    private void failUnmatched(List<BulkTaskOperationDTO> operations, List<Integer> taskOpIndexes,
+            BulkWriteResult result, List<BulkTaskResultDTO> results) {
+        List<Integer> attempted = taskOpIndexes.stream()
+                .filter(i -> results.get(i).isSuccess() && !isAssigneeOperation(operations.get(i)))
+                .toList();
+        long attemptedMirrors = taskOpIndexes.stream()
+                .filter(i -> results.get(i).isSuccess() && isAssigneeOperation(operations.get(i)))
+                .count();
+        // Assignee mirrors do not filter on deleted and match as long as the task exists
+        long unmatched = attempted.size() + attemptedMirrors - (result != null ? result.getMatchedCount() : 0);
+        if (result == null || unmatched <= 0) {
+            return;
+        }
+        Query query = new Query(Criteria.where("_id").in(attempted.stream()
+                .map(i -> new ObjectId(operations.get(i).getTaskId()))
+                .distinct()
+                .toList()).and("deleted").is(false));
+        query.fields().include("_id");
+        Set<String> live = mongoTemplate.find(query, Task.class).stream()
+                .map(Task::getId)
+                .collect(Collectors.toSet());
+
+        List<Integer> ambiguous = new ArrayList<>();
+        for (int i : attempted) {
+            BulkTaskOperationDTO op = operations.get(i);
+            if (live.contains(op.getTaskId())) {
+                continue;
+            }
+            if (op.getType() == BulkTaskOperationDTO.Type.DELETE) {
+                ambiguous.add(i);
+            } else {
+                fail(results.get(i), "Task not found");
+                unmatched--;
+            }
+        }
+        if (unmatched > 0) {
+            ambiguous.forEach(i -> fail(results.get(i), "Task not found"));
+        }
+    }
+
+    private static void fail(BulkTaskResultDTO result, String error) {
+        result.setSuccess(false);
+        result.setError(error);
+    }
+
+    /**
+     * Pushes live updates for the tasks touched by a bulk mutation, reloading the
+     * changed tasks with one query.
+     */
+    private void publishBulkChanges(List<BulkTaskOperationDTO> operations, List<BulkTaskResultDTO> results,
+            Map<String, Task> tasks) {
+        Set<String> updatedIds = new LinkedHashSet<>();
+        for (int i = 0; i < operations.size(); i++) {
+            BulkTaskOperationDTO op = operations.get(i);
+            if (!results.get(i).isSuccess()) {
+                continue;
+            }
+            String folderId = tasks.get(op.getTaskId()).getFolderId();
+            switch (op.getType()) {
+                case ASSIGN, UNASSIGN -> {
+                    if (folderId != null) {
+                        eventPublisher.publishEvent(new TaskChangedEvent(this, folderId, TaskChangeDTO.builder()
+                                .type(op.getType() == BulkTaskOperationDTO.Type.ASSIGN
+                                        ? TaskChangeDTO.Type.ASSIGNEE_ADDED
+                                        : TaskChangeDTO.Type.ASSIGNEE_REMOVED)
+                                .taskId(op.getTaskId())
+                                .userId(op.getUserId())
+                                .build()));
+                    }
+                }
+                default -> updatedIds.add(op.getTaskId());
+            }
+        }
+        if (updatedIds.isEmpty()) {
+            return;
+        }
+        List<Task> updated = new ArrayList<>();
+        taskRepository.findAllById(updatedIds).forEach(updated::add);
+        Set<String> deletedIds = updated.stream()
+                .filter(Task::isDeleted)
+                .map(Task::getId)
+                .collect(Collectors.toSet());
+        for (TaskDTO dto : enrichTaskDTOs(updated)) {
+            publishChange(dto.getFolderId(),
+                    deletedIds.contains(dto.getId()) ? TaskChangeDTO.Type.DELETED : TaskChangeDTO.Type.UPDATED,
+                    dto);
+        }
+    }
+
+    public TaskDTO updateTaskPriority(String taskId, Task.Priority priority, Long expectedVersion) {
+        return applyUpdate(taskId, expectedVersion, null, new Update().set("priority", priority),
+                task -> task.setPriority(priority));
+    }
+
+    /**
+     * What a subtask adds to its parent's rollup: cancelled and deleted tasks add
+     * nothing, done ones count as 100% whatever their progress field says.
+     */
+    private record Contribution(int count, long sum) {
+        static final Contribution NONE = new Contribution(0, 0);
+
+        static Contribution of(Task.Status status, int progress, boolean deleted) {
+            if (deleted || status == Task.Status.CANCELLED) {
+                return NONE;
+            }
+            return new Contribution(1, status == Task.Status.DONE ? 100 : progress);
+        }
+
+        Contribution plus(Contribution other) {
+            return new Contribution(count + other.count, sum + other.sum);
+        }
+
+        Contribution minus(Contribution other) {
+            return new Contribution(count - other.count, sum - other.sum);
+        }
+
+        boolean isZero() {
+            return count == 0 && sum == 0;
+        }
+    }
+
+    /**
+     * Applies a change in a child's contribution to the parent's subtask counters
+     * and recomputes the parent's progress in the same pipeline update. If that
+     * moves the parent's own contribution, the difference continues to the
+     * grandparent; the walk stops at the first ancestor that does not change, so
+     * an update costs one write per affected ancestor and never scans children.
+     */
+    private void rollUpProgress(String parentId, Contribution delta) {
+        for (int depth = 0; parentId != null && !delta.isZero() && depth < MAX_SUBTASK_DEPTH; depth++) {
+            LocalDateTime now = LocalDateTime.now();
+            Task parent = mongoTemplate.findAndModify(
+                    new Query(Criteria.where("_id").is(parentId).and("deleted").is(false)),
+                    rollupUpdate(delta, now), FindAndModifyOptions.options().returnNew(false), Task.class);
+            if (parent == null) {
+                return;
+            }
+            TaskStatsService.Snapshot before = TaskStatsService.Snapshot.of(parent, List.of());
+            Contribution previous = Contribution.of(parent.getStatus(), parent.getProgress(), false);
+            parent.setSubtaskCount(Math.max(0, parent.getSubtaskCount() + delta.count()));
+            parent.setSubtaskProgressSum(Math.max(0, parent.getSubtaskProgressSum() + delta.sum()));
+            if (parent.getSubtaskCount() > 0) {
+                parent.setProgress((int) (parent.getSubtaskProgressSum() / parent.getSubtaskCount()));
+            }
+            parent.setUpdatedAt(now);
+            parent.setVersion(parent.getVersion() != null ? parent.getVersion() + 1 : 1);
+
+            TaskDTO dto = enrichTaskDTO(parent);
+            taskStatsService.record(before.withAssignees(dto.getAssigneeIds()),
+                    TaskStatsService.Snapshot.of(parent, dto.getAssigneeIds()));
+            publishUpdate(dto);
+
+            delta = Contribution.of(parent.getStatus(), parent.getProgress(), false).minus(previous);
+            parentId = parent.getParentTaskId();
+        }
+    }
+
+    /**
+     * Pipeline update for rollUpProgress. progress is the floor of the average,
+     * matching the integer division used to mirror it in rollUpProgress.
+     */
+    private static AggregationUpdate rollupUpdate(Contribution delta, LocalDateTime now) {
+        Document counters = new Document("subtaskCount", atLeastZero(
+                new Document("$add", List.of(new Document("$ifNull", List.of("$subtaskCount", 0)), delta.count()))))
+                .append("subtaskProgressSum", atLeastZero(new Document("$add",
+                        List.of(new Document("$ifNull", List.of("$subtaskProgressSum", 0L)), delta.sum()))));
+        Document progress = new Document("progress", new Document("$cond", List.of(
+                new Document("$gt", List.of("$subtaskCount", 0)),
+                new Document("$toInt", new Document("$floor",
+                        new Document("$divide", List.of("$subtaskProgressSum", "$subtaskCount")))),
+                "$progress")))
+                .append("updatedAt", Date.from(now.atZone(ZoneId.systemDefault()).toInstant()))
+                .append("version", new Document("$add",
+                        List.of(new Document("$ifNull", List.of("$version", 0L)), 1L)));
+        return AggregationUpdate.from(List.of(
+                Aggregation.stage(new Document("$set", counters)),
+                Aggregation.stage(new Document("$set", progress))));
+    }
+
+    // A decrement for a child that was never counted (e.g. before the rollup existed) must not go negative
+    private static Document atLeastZero(Document expression) {
+        return new Document("$max", List.of(expression, 0));
+    }
+
+    /**
+     * Sort keys for the assigned-tasks aggregation. Status and priority are ranked
+     * by declaration order rather than alphabetically.
+     */
+    public enum AssignedSort {
+        STATUS, PRIORITY, END_DATE;
+
+        Object sortKey() {
+            return switch (this) {
+                case STATUS -> rank("$status", Task.Status.values());
+                case PRIORITY -> rank("$priority", Task.Priority.values());
+                case END_DATE -> "$endDate";
+            };
+        }
+
+        private static Document rank(String field, Enum<?>[] values) {
+            List<String> names = Arrays.stream(values).map(Enum::name).collect(Collectors.toList());
+            return new Document("$indexOfArray", List.of(names, field));
+        }
+    }
+
+    private TaskDTO publishUpdate(TaskDTO task) {
+        publishChange(task.getFolderId(), TaskChangeDTO.Type.UPDATED, task);
+        return task;
+    }
+
+    private void publishChange(String folderId, TaskChangeDTO.Type type, TaskDTO task) {
+        if (folderId == null) {
+            return;
+        }
+        eventPublisher.publishEvent(new TaskChangedEvent(this, folderId, TaskChangeDTO.builder()
+                .type(type)
+                .taskId(task.getId())
+                .task(type == TaskChangeDTO.Type.DELETED ? null : task)
+                .build()));
+    }
+
+    /**
+     * Strong validator for the folder's task list, derived from a count / max
+     * updatedAt / sum of versions aggregation over the folder index instead of
+     * loading the tasks. Every task mutation bumps updatedAt and version.
+     */
+    public String getTasksInFolderETag(String folderId) {
+        Aggregation aggregation = Aggregation.newAggregation(
+                Aggregation.match(Criteria.where("folderId").is(folderId).and("deleted").is(false)),
+                Aggregation.group()
+                        .count().as("count")
+                        .max("updatedAt").as("lastUpdated")
+                        .sum("version").as("versions"));
+        Document stats = mongoTemplate.aggregate(aggregation, "tasks", Document.class).getUniqueMappedResult();
+        if (stats == null) {
+            return ETags.of("tasks", folderId, 0);
+        }
+        return ETags.of("tasks", folderId, stats.get("count"), stats.get("lastUpdated"), stats.get("versions"),
+                assigneeStorage);
+    }
+
+    /**
+     * Where assignees are stored: COLLECTION only uses task_assignees,
+     * DUAL_WRITE also mirrors every change into Task.assigneeIds while reads stay
+     * on the collection (run the backfill in this phase), EMBEDDED keeps writing
+     * both but serves reads from the embedded array.
+     */
+    public enum AssigneeStorage {
+        COLLECTION, DUAL_WRITE, EMBEDDED
+    }
+
+    private boolean writesEmbeddedAssignees() {
+        return assigneeStorage == AssigneeStorage.DUAL_WRITE || assigneeStorage == AssigneeStorage.EMBEDDED;
+    }
+
+    boolean readsEmbeddedAssignees() {
+        return assigneeStorage == AssigneeStorage.EMBEDDED;
     }
 
     private TaskDTO enrichTaskDTO(Task task) {
         TaskDTO dto = taskMapper.toDTO(task);
+        if (readsEmbeddedAssignees()) {
+            dto.setAssigneeIds(task.getAssigneeIds() != null ? task.getAssigneeIds() : new ArrayList<>());
+            return dto;
+        }
         List<String> assignees = taskAssigneeRepository.findAllByTaskId(task.getId()).stream()
                 .map(TaskAssignee::getUserId)
                 .collect(Collectors.toList());
         dto.setAssigneeIds(assignees);
         return dto;
     }
+
+    /**
+     * Batched variant of enrichTaskDTO for list endpoints: all assignees for the
+     * given tasks are fetched with a single $in query and grouped in memory.
+     */
+    private List<TaskDTO> enrichTaskDTOs(List<Task> tasks) {
+        if (tasks.isEmpty()) {
+            return new ArrayList<>();
+        }
+        if (readsEmbeddedAssignees()) {
+            return tasks.stream().map(this::enrichTaskDTO).collect(Collectors.toList());
+        }
+        List<String> taskIds = tasks.stream().map(Task::getId).collect(Collectors.toList());
+        Map<String, List<String>> assigneesByTask = taskAssigneeRepository.findAllByTaskIdIn(taskIds).stream()
+                .collect(Collectors.groupingBy(TaskAssignee::getTaskId,
+                        Collectors.mapping(TaskAssignee::getUserId, Collectors.toList())));
+
+        return tasks.stream().map(task -> {
+            TaskDTO dto = taskMapper.toDTO(task);
+            dto.setAssigneeIds(assigneesByTask.getOrDefault(task.getId(), new ArrayList<>()));
+            return dto;
+        }).collect(Collectors.toList());
+    }
 }
@@ -0,0 +1,351 @@
+package com.example.task_manager.service;
+
+import com.example.task_manager.dto.TaskStatsDTO;
+import com.example.task_manager.model.Task;
+import com.example.task_manager.model.TaskStats;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.Document;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.Aggregation;
+import org.springframework.data.mongodb.core.aggregation.AggregationOperation;
+import org.springframework.data.mongodb.core.aggregation.AggregationOptions;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+/**
+ * Dashboard counters per folder, per assignee and across all tasks, stored in
+ * task_stats. Task
+ * mutations report the affected tasks before and after the change; the
+ * difference is applied with $inc in one bulk write, so reading the stats is a
+ * single lookup by id whatever the number of tasks.
+ *
+ * Counter writes are not transactional with the task writes. A failed or
+ * raced increment is repaired by {@link #reconcile()}, which rebuilds every
+ * document from a $group over the tasks.
+ *
+ * Every task write touches the global counters, so they are spread over
+ * GLOBAL_SHARDS documents to avoid one hot document; each write picks a shard
+ * at random and reads sum them. Reconciliation folds them back into shard 0.
+ */
+@Service
+@Slf4j
+@RequiredArgsConstructor
+public class TaskStatsService {
+    private static final int WRITE_BATCH_SIZE = 500;
+    static final int GLOBAL_SHARDS = 8;
+    private static final DateTimeFormatter END_DATE_KEY = DateTimeFormatter.ISO_LOCAL_DATE;
+
+    private final MongoTemplate mongoTemplate;
+
+    /**
+     * The stats-relevant state of a task. The folder counters use folderId,
+     * the user counters every id in assigneeIds.
+     */
+    public record Snapshot(String folderId, Task.Status status, Task.Priority priority, int progress,
+            LocalDate endDate, boolean deleted, Collection<String> assigneeIds) {
+
+        public static Snapshot of(Task task, Collection<String> assigneeIds) {
+            return new Snapshot(task.getFolderId(), task.getStatus(), task.getPriority(), task.getProgress(),
+                    task.getEndDate(), task.isDeleted(), assigneeIds != null ? List.copyOf(assigneeIds) : List.of());
+        }
+
+        public Snapshot withAssignees(Collection<String> assigneeIds) {
+            return new Snapshot(folderId, status, priority, progress, endDate, deleted, List.copyOf(assigneeIds));
+        }
+    }
+
+    public void record(Snapshot before, Snapshot after) {
+        record(before != null ? List.of(before) : List.of(), after != null ? List.of(after) : List.of());
+    }
+
+    /**
+     * Applies the change from the given task states to the counters. Both lists
+     * may cover several tasks; only their summed difference is written.
+     */
+    public void record(Collection<Snapshot> before, Collection<Snapshot> after) {
+        Map<String, Map<String, Long>> deltas = deltas(before, after,
+                ThreadLocalRandom.current().nextInt(GLOBAL_SHARDS));
+        if (deltas.isEmpty()) {
+            return;
+        }
+        LocalDateTime now = LocalDateTime.now();
+        BulkOperations ops = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, TaskStats.class);
+        deltas.forEach((id, fields) -> {
+            Update update = new Update()
+                    .setOnInsert("scope", scopeOf(id))
+                    .setOnInsert("scopeId", id.substring(id.indexOf(':') + 1))
+                    .setOnInsert("createdAt", now);
+            fields.forEach(update::inc);
+            ops.upsert(new Query(Criteria.where("_id").is(id)), update);
+        });
+        try {
+            ops.execute();
+        } catch (DataAccessException e) {
+            log.warn("Task stats update failed, counters stay off until the next reconciliation", e);
+        }
+    }
+
+    public TaskStatsDTO getFolderStats(String folderId) {
+        return toDTO(mongoTemplate.findById(id(TaskStats.Scope.FOLDER, folderId), TaskStats.class), LocalDate.now());
+    }
+
+    public TaskStatsDTO getUserStats(String userId) {
+        return toDTO(mongoTemplate.findById(id(TaskStats.Scope.USER, userId), TaskStats.class), LocalDate.now());
+    }
+
+    /** Counters over all live tasks, for the admin dashboard. */
+    public TaskStatsDTO getGlobalStats() {
+        TaskStats total = TaskStats.builder().build();
+        List<String> ids = IntStream.range(0, GLOBAL_SHARDS)
+                .mapToObj(shard -> id(TaskStats.Scope.GLOBAL, String.valueOf(shard)))
+                .toList();
+        for (TaskStats shard : mongoTemplate.find(new Query(Criteria.where("_id").in(ids)), TaskStats.class)) {
+            total.setTotal(total.getTotal() + shard.getTotal());
+            total.setProgressSum(total.getProgressSum() + shard.getProgressSum());
+            shard.getByStatus().forEach((key, count) -> total.getByStatus().merge(key, count, Long::sum));
+            shard.getByPriority().forEach((key, count) -> total.getByPriority().merge(key, count, Long::sum));
+            shard.getOpenByEndDate().forEach((key, count) -> total.getOpenByEndDate().merge(key, count, Long::sum));
+        }
+        return toDTO(total, LocalDate.now());
+    }
+
+    static String id(TaskStats.Scope scope, String scopeId) {
+        return scope.name().toLowerCase() + ":" + scopeId;
+    }
+
+    private static TaskStats.Scope scopeOf(String id) {
+        return TaskStats.Scope.valueOf(id.substring(0, id.indexOf(':')).toUpperCase());
+    }
+
+    static Map<String, Map<String, Long>> deltas(Collection<Snapshot> before, Collection<Snapshot> after) {
+        return deltas(before, after, 0);
+    }
+
+    /** Per stats document, the $inc amounts turning the before states into the after states. */
+    static Map<String, Map<String, Long>> deltas(Collection<Snapshot> before, Collection<Snapshot> after,
+            int globalShard) {
+        String globalId = id(TaskStats.Scope.GLOBAL, String.valueOf(globalShard));
+        Map<String, Map<String, Long>> deltas = new LinkedHashMap<>();
+        before.forEach(snapshot -> add(deltas, snapshot, -1, globalId));
+        after.forEach(snapshot -> add(deltas, snapshot, 1, globalId));
+        deltas.values().forEach(fields -> fields.values().removeIf(value -> value == 0));
+        deltas.values().removeIf(Map::isEmpty);
+        return deltas;
+    }
+
+    private static void add(Map<String, Map<String, Long>> deltas, Snapshot snapshot, int sign, String globalId) {
+        if (snapshot.deleted()) {
+            return;
+        }
+        List<String> ids = new ArrayList<>();
+        ids.add(globalId);
+        if (snapshot.folderId() != null) {
+            ids.add(id(TaskStats.Scope.FOLDER, snapshot.folderId()));
+        }
+        snapshot.assigneeIds().stream().distinct().forEach(userId -> ids.add(id(TaskStats.Scope.USER, userId)));
+        for (String id : ids) {
+            Map<String, Long> fields = deltas.computeIfAbsent(id, k -> new HashMap<>());
+            fields.merge("total", (long) sign, Long::sum);
+            if (snapshot.status() != null) {
+                fields.merge("byStatus." + snapshot.status().name(), (long) sign, Long::sum);
+            }
+            if (snapshot.priority() != null) {
+                fields.merge("byPriority." + snapshot.priority().name(), (long) sign, Long::sum);
+            }
+            fields.merge("progressSum", (long) sign * snapshot.progress(), Long::sum);
+            if (isOpen(snapshot.status()) && snapshot.endDate() != null) {
+                fields.merge("openByEndDate." + END_DATE_KEY.format(snapshot.endDate()), (long) sign, Long::sum);
+            }
+        }
+    }
+
+    private static boolean isOpen(Task.Status status) {
+        return status != Task.Status.DONE && status != Task.Status.CANCELLED;
+    }
+
+    static TaskStatsDTO toDTO(TaskStats stats, LocalDate today) {
+        TaskStatsDTO dto = new TaskStatsDTO();
+        if (stats == null) {
+            return dto;
+        }
+        dto.setTotalTasks(stats.getTotal());
+        stats.getByStatus().forEach((status, count) -> {
+            if (count != 0) {
+                dto.getStatusCounts().put(Task.Status.valueOf(status), count);
+            }
+        });
+        stats.getByPriority().forEach((priority, count) -> {
+            if (count != 0) {
+                dto.getPriorityCounts().put(Task.Priority.valueOf(priority), count);
+            }
+        });
+        dto.setOverdueTasks(stats.getOpenByEndDate().entrySet().stream()
+                .filter(entry -> LocalDate.parse(entry.getKey(), END_DATE_KEY).isBefore(today))
+                .mapToLong(Map.Entry::getValue)
+                .sum());
+        dto.setAverageProgress(stats.getTotal() > 0 ? (double) stats.getProgressSum() / stats.getTotal() : 0);
+        return dto;
+    }
+
+    /**
+     * Rebuilds all counters from the tasks and task_assignees collections and
+     * drops documents of scopes that no longer have live tasks. Increments that
+     * land while a scope is being rebuilt can be lost; the next run fixes them.
+     * This also prunes the end-date buckets that only hold zeros.
+     */
+    @Scheduled(initialDelayString = "${task.stats.reconcile-initial-delay-ms:60000}",
+            fixedDelayString = "${task.stats.reconcile-interval-ms:3600000}")
+    public void reconcile() {
+        LocalDateTime start = LocalDateTime.now();
+        try {
+            int folders = rebuild(TaskStats.Scope.FOLDER, "tasks", folderStatsPipeline(), start);
+            int users = rebuild(TaskStats.Scope.USER, "task_assignees", userStatsPipeline(), start);
+            rebuild(TaskStats.Scope.GLOBAL, "tasks", globalStatsPipeline(), start);
+            long removed = mongoTemplate.remove(new Query(new Criteria().orOperator(
+                    Criteria.where("reconciledAt").lt(start),
+                    Criteria.where("reconciledAt").exists(false).and("createdAt").lt(start))),
+                    TaskStats.class).getDeletedCount();
+            log.info("Task stats reconciled: {} folders, {} users, {} stale documents removed", folders, users,
+                    removed);
+        } catch (DataAccessException e) {
+            log.error("Task stats reconciliation failed", e);
+        }
+    }
+
+    private List<AggregationOperation> folderStatsPipeline() {
+        List<AggregationOperation> stages = new ArrayList<>();
+        stages.add(Aggregation.match(Criteria.where("deleted").is(false).and("folderId").ne(null)));
+        stages.add(groupStage("$folderId", ""));
+        return stages;
+    }
+
+    private List<AggregationOperation> globalStatsPipeline() {
+        List<AggregationOperation> stages = new ArrayList<>();
+        stages.add(Aggregation.match(Criteria.where("deleted").is(false)));
+        // Everything lands in shard 0; the other shards are dropped as stale
+        stages.add(groupStage(new Document("$literal", "0"), ""));
+        return stages;
+    }
+
+    private List<AggregationOperation> userStatsPipeline() {
+        List<AggregationOperation> stages = new ArrayList<>();
+        stages.add(Aggregation.stage(new Document("$addFields", new Document("taskObjectId",
+                new Document("$convert", new Document("input", "$taskId")
+                        .append("to", "objectId")
+                        .append("onError", null)
+                        .append("onNull", null))))));
+        stages.add(Aggregation.lookup("tasks", "taskObjectId", "_id", "task"));
+        stages.add(Aggregation.unwind("task"));
+        stages.add(Aggregation.match(Criteria.where("task.deleted").is(false)));
+        stages.add(groupStage("$userId", "task."));
+        return stages;
+    }
+
+    /**
+     * Groups by scope, status, priority and the end date of open tasks, which
+     * keeps the result small enough to stream and fold per scope.
+     */
+    private static AggregationOperation groupStage(Object scopeField, String prefix) {
+        Document open = new Document("$and", List.of(
+                new Document("$not", List.of(new Document("$in", List.of("$" + prefix + "status",
+                        List.of(Task.Status.DONE.name(), Task.Status.CANCELLED.name()))))),
+                new Document("$ne", List.of(new Document("$ifNull", List.of("$" + prefix + "endDate", null)), null))));
+        // LocalDate is stored as midnight in the JVM's zone
+        Document endDate = new Document("$dateToString", new Document("format", "%Y-%m-%d")
+                .append("date", "$" + prefix + "endDate")
+                .append("timezone", ZoneId.systemDefault().getId()));
+        return Aggregation.stage(new Document("$group", new Document("_id", new Document("scopeId", scopeField)
+                .append("status", "$" + prefix + "status")
+                .append("priority", "$" + prefix + "priority")
+                .append("endDate", new Document("$cond", List.of(open, endDate, null))))
+                .append("count", new Document("$sum", 1))
+                .append("progress", new Document("$sum", "$" + prefix + "progress"))));
+    }
+
+    private int rebuild(TaskStats.Scope scope, String collection, List<AggregationOperation> stages,
+            LocalDateTime reconciledAt) {
+        stages.add(Aggregation.sort(Sort.by("_id.scopeId")));
+        Aggregation aggregation = Aggregation.newAggregation(stages)
+                .withOptions(AggregationOptions.builder().allowDiskUse(true).build());
+
+        List<TaskStats> pending = new ArrayList<>();
+        int scopes = 0;
+        TaskStats current = null;
+        try (Stream<Document> groups = mongoTemplate.aggregateStream(aggregation, collection, Document.class)) {
+            for (Document group : (Iterable<Document>) groups::iterator) {
+                Document key = group.get("_id", Document.class);
+                String scopeId = Objects.toString(key.get("scopeId"), null);
+                if (scopeId == null) {
+                    continue;
+                }
+                if (current == null || !current.getScopeId().equals(scopeId)) {
+                    current = TaskStats.builder().id(id(scope, scopeId)).scope(scope).scopeId(scopeId)
+                            .reconciledAt(reconciledAt).build();
+                    pending.add(current);
+                    scopes++;
+                    if (pending.size() > WRITE_BATCH_SIZE) {
+                        write(pending.subList(0, pending.size() - 1));
+                        pending = new ArrayList<>(List.of(current));
+                    }
+                }
+                long count = group.get("count", Number.class).longValue();
+                Number progress = group.get("progress", Number.class);
+                current.setTotal(current.getTotal() + count);
+                current.setProgressSum(current.getProgressSum() + (progress != null ? progress.longValue() : 0));
+                if (key.getString("status") != null) {
+                    current.getByStatus().merge(key.getString("status"), count, Long::sum);
+                }
+                if (key.getString("priority") != null) {
+                    current.getByPriority().merge(key.getString("priority"), count, Long::sum);
+                }
+                if (key.getString("endDate") != null) {
+                    current.getOpenByEndDate().merge(key.getString("endDate"), count, Long::sum);
+                }
+            }
+        }
+        write(pending);
+        return scopes;
+    }
+
+    private void write(List<TaskStats> stats) {
+        if (stats.isEmpty()) {
+            return;
+        }
+        BulkOperations ops = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, TaskStats.class);
+        for (TaskStats s : stats) {
+            ops.upsert(new Query(Criteria.where("_id").is(s.getId())), new Update()
+                    .set("scope", s.getScope())
+                    .set("scopeId", s.getScopeId())
+                    .set("total", s.getTotal())
+                    .set("byStatus", s.getByStatus())
+                    .set("byPriority", s.getByPriority())
+                    .set("progressSum", s.getProgressSum())
+                    .set("openByEndDate", s.getOpenByEndDate())
+                    .set("reconciledAt", s.getReconciledAt())
+                    .setOnInsert("createdAt", s.getReconciledAt()));
+        }
+        ops.execute();
+    }
+}
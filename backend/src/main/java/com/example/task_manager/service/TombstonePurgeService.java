@@ -0,0 +1,218 @@
+package com.example.task_manager.service;
+
+import com.example.task_manager.config.WorkerExecutors;
+import com.example.task_manager.model.Folder;
+import com.example.task_manager.model.MigrationCheckpoint;
+import com.example.task_manager.model.Task;
+import com.example.task_manager.model.TaskAssignee;
+import com.example.task_manager.repository.MigrationCheckpointRepository;
+import com.mongodb.bulk.BulkWriteError;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.Document;
+import org.bson.types.ObjectId;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.BulkOperationException;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Moves soft-deleted tasks (with their assignee links) and folders out of the
+ * hot collections once they have been deleted for longer than the retention
+ * window. Tombstones are copied to "&lt;collection&gt;_archive" and then removed,
+ * one batch at a time in _id order over the partial tombstone indexes, with a
+ * checkpoint after every batch so a pass resumes where it stopped.
+ *
+ * Soft deletes stamp updatedAt, which is used as the deletion time. Archive
+ * inserts ignore duplicates, so a batch interrupted between copy and removal
+ * is simply copied again.
+ */
+@Service
+@Slf4j
+public class TombstonePurgeService {
+    static final String TASKS_JOB_ID = "purge-task-tombstones";
+    static final String FOLDERS_JOB_ID = "purge-folder-tombstones";
+    static final String ARCHIVE_SUFFIX = "_archive";
+
+    private final MongoTemplate mongoTemplate;
+    private final MigrationCheckpointRepository checkpointRepository;
+    private final MeterRegistry meterRegistry;
+    private final ExecutorService executor;
+    private final AtomicBoolean running = new AtomicBoolean();
+    private final Timer passTimer;
+
+    private final Duration retention;
+    private final int batchSize;
+    private final long throttleMs;
+
+    public TombstonePurgeService(MongoTemplate mongoTemplate,
+            MigrationCheckpointRepository checkpointRepository,
+            MeterRegistry meterRegistry,
+            WorkerExecutors workerExecutors,
+            @Value("${task.purge.retention-days:30}") int retentionDays,
+            @Value("${task.purge.batch-size:500}") int batchSize,
+            @Value("${task.purge.throttle-ms:100}") long throttleMs) {
+        this.mongoTemplate = mongoTemplate;
+        this.checkpointRepository = checkpointRepository;
+        this.meterRegistry = meterRegistry;
+        this.executor = workerExecutors.fixed("tombstone-purge", 1);
+        this.passTimer = Timer.builder("tombstones.purge")
+                .description("Duration of a full tombstone purge pass")
+                .register(meterRegistry);
+        this.retention = Duration.ofDays(retentionDays);
+        this.batchSize = batchSize;
+        this.throttleMs = throttleMs;
+    }
+
+    /**
+     * Runs off the shared scheduler thread so a long pass does not hold up the
+     * other scheduled jobs.
+     */
+    @Scheduled(initialDelayString = "${task.purge.initial-delay-ms:600000}",
+            fixedDelayString = "${task.purge.interval-ms:86400000}")
+    public void scheduledPurge() {
+        start();
+    }
+
+    public Map<String, MigrationCheckpoint> start() {
+        if (!running.compareAndSet(false, true)) {
+            return status();
+        }
+        executor.execute(() -> {
+            try {
+                passTimer.record(this::run);
+            } catch (RuntimeException e) {
+                log.error("Tombstone purge stopped, it will resume from the last checkpoint", e);
+            } finally {
+                running.set(false);
+            }
+        });
+        return status();
+    }
+
+    public Map<String, MigrationCheckpoint> status() {
+        Map<String, MigrationCheckpoint> status = new LinkedHashMap<>();
+        status.put(TASKS_JOB_ID, checkpoint(TASKS_JOB_ID));
+        status.put(FOLDERS_JOB_ID, checkpoint(FOLDERS_JOB_ID));
+        return status;
+    }
+
+    public boolean isRunning() {
+        return running.get();
+    }
+
+    private MigrationCheckpoint checkpoint(String jobId) {
+        return checkpointRepository.findById(jobId)
+                .orElse(MigrationCheckpoint.builder().id(jobId).build());
+    }
+
+    private void run() {
+        LocalDateTime cutoff = LocalDateTime.now().minus(retention);
+        purge(TASKS_JOB_ID, mongoTemplate.getCollectionName(Task.class), cutoff);
+        purge(FOLDERS_JOB_ID, mongoTemplate.getCollectionName(Folder.class), cutoff);
+    }
+
+    private void purge(String jobId, String collection, LocalDateTime cutoff) {
+        MigrationCheckpoint checkpoint = checkpoint(jobId);
+        if (checkpoint.isCompleted()) {
+            // The previous pass finished; this run is a new one
+            checkpoint = MigrationCheckpoint.builder().id(jobId).build();
+        }
+        Counter archived = Counter.builder("tombstones.archived")
+                .description("Soft-deleted documents moved to the archive collections")
+                .tag("collection", collection)
+                .register(meterRegistry);
+
+        while (!Thread.currentThread().isInterrupted()) {
+            Criteria criteria = Criteria.where("deleted").is(true);
+            if (checkpoint.getLastId() != null) {
+                criteria.and("_id").gt(new ObjectId(checkpoint.getLastId()));
+            }
+            criteria.orOperator(Criteria.where("updatedAt").lt(cutoff), Criteria.where("updatedAt").exists(false));
+            Query query = new Query(criteria).with(Sort.by(Sort.Direction.ASC, "_id")).limit(batchSize);
+            List<Document> batch = mongoTemplate.find(query, Document.class, collection);
+            if (batch.isEmpty()) {
+                checkpoint.setCompleted(true);
+                checkpointRepository.save(checkpoint);
+                log.info("Tombstone purge of {} finished, {} documents archived", collection,
+                        checkpoint.getProcessed());
+                return;
+            }
+
+            List<Object> ids = batch.stream().map(document -> document.get("_id")).toList();
+            archive(collection, batch);
+            if (jobId.equals(TASKS_JOB_ID)) {
+                archiveAssignees(ids);
+            }
+            // deleted=true again, in case a document was restored since it was read
+            mongoTemplate.remove(new Query(Criteria.where("_id").in(ids).and("deleted").is(true)), collection);
+
+            archived.increment(batch.size());
+            checkpoint.setLastId(ids.get(ids.size() - 1).toString());
+            checkpoint.setProcessed(checkpoint.getProcessed() + batch.size());
+            checkpointRepository.save(checkpoint);
+            pause();
+        }
+    }
+
+    private void archiveAssignees(List<Object> taskIds) {
+        String collection = mongoTemplate.getCollectionName(TaskAssignee.class);
+        List<String> ids = taskIds.stream().map(Object::toString).toList();
+        List<Document> links = mongoTemplate.find(new Query(Criteria.where("taskId").in(ids)), Document.class,
+                collection);
+        if (links.isEmpty()) {
+            return;
+        }
+        archive(collection, links);
+        mongoTemplate.remove(new Query(Criteria.where("_id").in(links.stream().map(l -> l.get("_id")).toList())),
+                collection);
+        meterRegistry.counter("tombstones.archived", "collection", collection).increment(links.size());
+    }
+
+    private void archive(String collection, List<Document> documents) {
+        LocalDateTime now = LocalDateTime.now();
+        BulkOperations ops = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, collection + ARCHIVE_SUFFIX);
+        documents.forEach(document -> ops.insert(new Document(document).append("archivedAt", now)));
+        try {
+            ops.execute();
+        } catch (BulkOperationException e) {
+            for (BulkWriteError error : e.getErrors()) {
+                if (error.getCode() != 11000) {
+                    throw e;
+                }
+            }
+        }
+    }
+
+    private void pause() {
+        if (throttleMs <= 0) {
+            return;
+        }
+        try {
+            Thread.sleep(throttleMs);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+}
@@ -0,0 +1,124 @@
+package com.example.task_manager.event;
+
+import com.example.task_manager.config.WorkerExecutors;
+import com.example.task_manager.model.NotificationOutbox;
+import com.example.task_manager.repository.NotificationOutboxRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class NotificationDispatcherTest {
+
+	private MongoTemplate mongoTemplate;
+	private NotificationOutboxRepository outboxRepository;
+	private BulkOperations bulkOps;
+	private InMemorySender sender;
+	private NotificationDispatcher dispatcher;
+
+	@BeforeEach
+	void setUp() {
+		mongoTemplate = mock(MongoTemplate.class);
+		outboxRepository = mock(NotificationOutboxRepository.class);
+		bulkOps = mock(BulkOperations.class);
+		when(mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, NotificationOutbox.class)).thenReturn(bulkOps);
+		sender = new InMemorySender();
+		dispatcher = new NotificationDispatcher(mongoTemplate, outboxRepository, sender, new WorkerExecutors(false),
+				100, 3, 1000, 60000, 1);
+	}
+
+	@AfterEach
+	void tearDown() {
+		dispatcher.shutdown();
+	}
+
+	@Test
+	void coalescesDuplicateNotificationsForSameUser() {
+		dispatcher.deliver("user", List.of(entry("1", "task-a", 0), entry("2", "task-a", 0), entry("3", "task-b", 0)));
+
+		assertThat(sender.sent).containsExactly("user:[task-a, task-b]");
+		ArgumentCaptor<Query> sent = ArgumentCaptor.forClass(Query.class);
+		verify(mongoTemplate).updateMulti(sent.capture(), any(Update.class), eq(NotificationOutbox.class));
+		// A newer claim by another instance must not be marked SENT
+		assertThat(sent.getValue().getQueryObject().get("claimId")).isEqualTo("claim");
+		verify(bulkOps, never()).execute();
+	}
+
+	@Test
+	void failedDeliveryIsRescheduledWithBackoff() {
+		sender.failing = true;
+		NotificationOutbox entry = entry("1", "task-a", 0);
+		LocalDateTime before = LocalDateTime.now();
+
+		dispatcher.deliver("user", List.of(entry));
+
+		assertThat(entry.getStatus()).isEqualTo(NotificationOutbox.Status.PENDING);
+		assertThat(entry.getAttempts()).isEqualTo(1);
+		assertThat(entry.getNextAttemptAt()).isAfterOrEqualTo(before.plusSeconds(1));
+		assertThat(entry.getClaimId()).isNull();
+		ArgumentCaptor<Query> retried = ArgumentCaptor.forClass(Query.class);
+		verify(bulkOps).updateOne(retried.capture(), any(Update.class));
+		assertThat(retried.getValue().getQueryObject().get("claimId")).isEqualTo("claim");
+		verify(bulkOps).execute();
+		verify(outboxRepository, never()).saveAll(any());
+	}
+
+	@Test
+	void entryIsDeadLetteredAfterMaxAttempts() {
+		sender.failing = true;
+		NotificationOutbox entry = entry("1", "task-a", 2);
+
+		dispatcher.deliver("user", List.of(entry));
+
+		assertThat(entry.getStatus()).isEqualTo(NotificationOutbox.Status.DEAD);
+		assertThat(entry.getLastError()).isEqualTo("channel down");
+	}
+
+	@Test
+	void backoffDoublesPerAttempt() {
+		assertThat(dispatcher.backoffMs(1)).isEqualTo(1000);
+		assertThat(dispatcher.backoffMs(2)).isEqualTo(2000);
+		assertThat(dispatcher.backoffMs(4)).isEqualTo(8000);
+	}
+
+	private static NotificationOutbox entry(String id, String taskId, int attempts) {
+		return NotificationOutbox.builder()
+				.id(id)
+				.taskId(taskId)
+				.userId("user")
+				.status(NotificationOutbox.Status.PROCESSING)
+				.claimId("claim")
+				.attempts(attempts)
+				.build();
+	}
+
+	private static class InMemorySender implements NotificationSender {
+		private final List<String> sent = new ArrayList<>();
+		private boolean failing;
+
+		@Override
+		public void sendTaskAssigned(String userId, List<String> taskIds) {
+			if (failing) {
+				throw new IllegalStateException("channel down");
+			}
+			sent.add(userId + ":" + taskIds);
+		}
+	}
+
+}
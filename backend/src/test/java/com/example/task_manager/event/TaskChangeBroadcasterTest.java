@@ -0,0 +1,88 @@
+package com.example.task_manager.event;
+
+import com.example.task_manager.config.WorkerExecutors;
+import com.example.task_manager.dto.TaskChangeDTO;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter.DataWithMediaType;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TaskChangeBroadcasterTest {
+
+	private static final ObjectMapper MAPPER = new ObjectMapper();
+
+	private TaskChangeBroadcaster broadcaster;
+
+	@BeforeEach
+	void setUp() {
+		broadcaster = new TaskChangeBroadcaster(new WorkerExecutors(false), 64, 60000, 4);
+	}
+
+	@AfterEach
+	void tearDown() {
+		broadcaster.shutdown();
+	}
+
+	@Test
+	void everySubscriberReceivesTheSameFrameBytes() throws Exception {
+		int events = 20;
+		List<RecordingEmitter> emitters = List.of(new RecordingEmitter(events), new RecordingEmitter(events),
+				new RecordingEmitter(events));
+		emitters.forEach(emitter -> broadcaster.subscribe("folder", emitter));
+
+		for (int i = 0; i < events; i++) {
+			TaskChangeDTO change = TaskChangeDTO.builder().type(TaskChangeDTO.Type.DELETED).taskId("t" + i).build();
+			broadcaster.handleTaskChanged(new TaskChangedEvent(this, "folder", change));
+		}
+
+		for (RecordingEmitter emitter : emitters) {
+			assertThat(emitter.received.await(5, TimeUnit.SECONDS)).isTrue();
+			for (int i = 0; i < events; i++) {
+				String expected = "event:task\ndata:{\"type\":\"DELETED\",\"taskId\":\"t" + i
+						+ "\",\"task\":null,\"userId\":null}\n\n";
+				assertThat(emitter.frames.get(i)).isEqualTo(expected.getBytes(StandardCharsets.UTF_8));
+			}
+			assertThat(emitter.frames).hasSize(events);
+		}
+	}
+
+	/** Renders frames the way the message converters would for text and JSON parts. */
+	private static final class RecordingEmitter extends SseEmitter {
+		private final List<byte[]> frames = new CopyOnWriteArrayList<>();
+		private final CountDownLatch received;
+
+		private RecordingEmitter(int expected) {
+			this.received = new CountDownLatch(expected);
+		}
+
+		@Override
+		public synchronized void send(Set<DataWithMediaType> items) {
+			StringBuilder frame = new StringBuilder();
+			for (DataWithMediaType item : items) {
+				frame.append(item.getData() instanceof String text ? text : json(item.getData()));
+			}
+			frames.add(frame.toString().getBytes(StandardCharsets.UTF_8));
+			received.countDown();
+		}
+
+		private static String json(Object data) {
+			try {
+				return MAPPER.writeValueAsString(data);
+			} catch (JsonProcessingException e) {
+				throw new RuntimeException(e);
+			}
+		}
+	}
+}
@@ -0,0 +1,53 @@
+package com.example.task_manager.metrics;
+
+import com.mongodb.event.CommandStartedEvent;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.http.HttpServlet;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.servlet.HandlerMapping;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+class DbRoundTripFilterTest {
+
+	private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+	private final DbRoundTripFilter filter = new DbRoundTripFilter(registry);
+	private final DbRoundTrips listener = new DbRoundTrips();
+
+	@Test
+	void countsCommandsOfTheRequestAndRecordsThemPerUri() throws Exception {
+		MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/tasks/folder/f1");
+		request.setAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE, "/api/tasks/folder/{folderId}");
+		MockHttpServletResponse response = new MockHttpServletResponse();
+
+		filter.doFilter(request, response, new MockFilterChain(new HttpServlet() {
+			@Override
+			protected void service(HttpServletRequest req, HttpServletResponse resp) {
+				listener.commandStarted(mock(CommandStartedEvent.class));
+				listener.commandStarted(mock(CommandStartedEvent.class));
+			}
+		}));
+
+		assertThat(response.getHeader(DbRoundTrips.HEADER)).isEqualTo("2");
+		DistributionSummary summary = registry.get("db.round.trips")
+				.tag("uri", "/api/tasks/folder/{folderId}")
+				.summary();
+		assertThat(summary.count()).isEqualTo(1);
+		assertThat(summary.totalAmount()).isEqualTo(2);
+	}
+
+	@Test
+	void commandsOutsideARequestAreIgnored() {
+		listener.commandStarted(mock(CommandStartedEvent.class));
+
+		assertThat(DbRoundTrips.current()).isZero();
+	}
+
+}
@@ -0,0 +1,332 @@
+package com.example.task_manager.repository;
+
+import com.example.task_manager.config.MongoIndexes;
+import com.example.task_manager.model.Folder;
+import com.example.task_manager.model.NotificationOutbox;
+import com.example.task_manager.model.Task;
+import com.example.task_manager.model.TaskAssignee;
+import com.example.task_manager.model.User;
+import com.mongodb.ConnectionString;
+import com.mongodb.MongoClientSettings;
+import com.mongodb.client.MongoClient;
+import com.mongodb.client.MongoClients;
+import com.mongodb.event.CommandListener;
+import com.mongodb.event.CommandStartedEvent;
+import org.bson.Document;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+import com.mongodb.client.model.IndexOptions;
+import org.springframework.beans.factory.annotation.AnnotatedBeanDefinition;
+import org.springframework.context.annotation.ClassPathScanningCandidateComponentProvider;
+import org.springframework.core.type.filter.AssignableTypeFilter;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import org.springframework.data.mongodb.core.index.IndexInfo;
+import org.springframework.data.mongodb.repository.support.MongoRepositoryFactory;
+import org.springframework.data.mongodb.repository.support.ReactiveMongoRepositoryFactory;
+import org.springframework.data.repository.Repository;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+/**
+ * Runs every derived repository query, blocking and reactive, against a real
+ * mongod, captures the command the driver sends and explains it. Fails when a
+ * plan falls back to COLLSCAN or picks a different index than the one declared
+ * for it. Repository interfaces are found by classpath scan, so a new query
+ * method without a case here fails the build.
+ *
+ * Uses MONGO_EXPLAIN_URI (default mongodb://localhost:27017); the explain
+ * cases are skipped when no server is reachable.
+ */
+class RepositoryQueryPlanTest {
+
+	private static final String DATABASE = "task_manager_query_plan_test";
+
+	private static final List<Document> commands = new CopyOnWriteArrayList<>();
+
+	private static MongoClient client;
+	private static com.mongodb.reactivestreams.client.MongoClient reactiveClient;
+	private static MongoTemplate template;
+	private static TaskRepository taskRepository;
+	private static FolderRepository folderRepository;
+	private static TaskAssigneeRepository taskAssigneeRepository;
+	private static NotificationOutboxRepository outboxRepository;
+	private static UserRepository userRepository;
+	private static ReactiveTaskRepository reactiveTaskRepository;
+	private static ReactiveFolderRepository reactiveFolderRepository;
+	private static ReactiveTaskAssigneeRepository reactiveTaskAssigneeRepository;
+
+	@BeforeAll
+	static void connect() {
+		String uri = System.getenv().getOrDefault("MONGO_EXPLAIN_URI", "mongodb://localhost:27017");
+		MongoClientSettings settings = MongoClientSettings.builder()
+				.applyConnectionString(new ConnectionString(uri))
+				.applyToClusterSettings(b -> b.serverSelectionTimeout(2, TimeUnit.SECONDS))
+				.addCommandListener(new CommandListener() {
+					@Override
+					public void commandStarted(CommandStartedEvent event) {
+						commands.add(Document.parse(event.getCommand().toJson()));
+					}
+				})
+				.build();
+		client = MongoClients.create(settings);
+		try {
+			client.getDatabase("admin").runCommand(new Document("ping", 1));
+		} catch (RuntimeException e) {
+			client.close();
+			client = null;
+		}
+		if (client == null) {
+			return;
+		}
+
+		template = new MongoTemplate(client, DATABASE);
+		template.getDb().drop();
+		MongoIndexes.ensureIndexes(template);
+		seed();
+
+		MongoRepositoryFactory factory = new MongoRepositoryFactory(template);
+		taskRepository = factory.getRepository(TaskRepository.class);
+		folderRepository = factory.getRepository(FolderRepository.class);
+		taskAssigneeRepository = factory.getRepository(TaskAssigneeRepository.class);
+		outboxRepository = factory.getRepository(NotificationOutboxRepository.class);
+		userRepository = factory.getRepository(UserRepository.class);
+
+		reactiveClient = com.mongodb.reactivestreams.client.MongoClients.create(settings);
+		ReactiveMongoRepositoryFactory reactiveFactory = new ReactiveMongoRepositoryFactory(
+				new ReactiveMongoTemplate(reactiveClient, DATABASE));
+		reactiveTaskRepository = reactiveFactory.getRepository(ReactiveTaskRepository.class);
+		reactiveFolderRepository = reactiveFactory.getRepository(ReactiveFolderRepository.class);
+		reactiveTaskAssigneeRepository = reactiveFactory.getRepository(ReactiveTaskAssigneeRepository.class);
+	}
+
+	@AfterAll
+	static void dropDatabase() {
+		if (client != null) {
+			template.getDb().drop();
+			client.close();
+			reactiveClient.close();
+		}
+	}
+
+	static Stream<Arguments> repositoryQueries() {
+		return Stream.of(
+				query(TaskRepository.class, "findAllByFolderIdAndDeletedFalse", MongoIndexes.TASK_FOLDER_LIVE,
+						() -> taskRepository.findAllByFolderIdAndDeletedFalse("folder-1")),
+				query(TaskRepository.class, "findAllByParentTaskIdAndDeletedFalse", MongoIndexes.TASK_PARENT_LIVE,
+						() -> taskRepository.findAllByParentTaskIdAndDeletedFalse("parent-1")),
+				query(TaskRepository.class, "findAllByCreatorIdAndDeletedFalse", MongoIndexes.TASK_CREATOR_LIVE,
+						() -> taskRepository.findAllByCreatorIdAndDeletedFalse("user-1")),
+				query(FolderRepository.class, "findAllByUserIdAndDeletedFalse",
+						MongoIndexes.FOLDER_USER_PARENT_LIVE,
+						() -> folderRepository.findAllByUserIdAndDeletedFalse("user-1")),
+				query(FolderRepository.class, "findAllByParentIdAndDeletedFalse", MongoIndexes.FOLDER_PARENT_LIVE,
+						() -> folderRepository.findAllByParentIdAndDeletedFalse("parent-1")),
+				query(FolderRepository.class, "findAllByUserIdAndParentIdAndDeletedFalse",
+						MongoIndexes.FOLDER_USER_PARENT_LIVE,
+						() -> folderRepository.findAllByUserIdAndParentIdAndDeletedFalse("user-1", "shared-parent")),
+				query(FolderRepository.class, "existsByParentIdAndDeletedFalse", MongoIndexes.FOLDER_PARENT_LIVE,
+						() -> folderRepository.existsByParentIdAndDeletedFalse("parent-1")),
+				query(TaskAssigneeRepository.class, "findAllByTaskId", MongoIndexes.ASSIGNEE_TASK_USER,
+						() -> taskAssigneeRepository.findAllByTaskId("task-1")),
+				query(TaskAssigneeRepository.class, "findAllByTaskIdIn", MongoIndexes.ASSIGNEE_TASK_USER,
+						() -> taskAssigneeRepository.findAllByTaskIdIn(List.of("task-1", "task-2"))),
+				query(TaskAssigneeRepository.class, "findAllByUserId", MongoIndexes.ASSIGNEE_USER_TASK,
+						() -> taskAssigneeRepository.findAllByUserId("user-1")),
+				query(TaskAssigneeRepository.class, "existsByTaskIdAndUserId", MongoIndexes.ASSIGNEE_TASK_USER,
+						() -> taskAssigneeRepository.existsByTaskIdAndUserId("task-1", "user-1")),
+				query(TaskAssigneeRepository.class, "deleteByTaskIdAndUserId", MongoIndexes.ASSIGNEE_TASK_USER,
+						() -> taskAssigneeRepository.deleteByTaskIdAndUserId("missing-task", "user-1")),
+				query(NotificationOutboxRepository.class, "findAllByClaimId", MongoIndexes.OUTBOX_CLAIM,
+						() -> outboxRepository.findAllByClaimId("claim-1")),
+				query(UserRepository.class, "findByUsername", MongoIndexes.USER_USERNAME,
+						() -> userRepository.findByUsername("user-1")),
+				query(ReactiveTaskRepository.class, "findAllByFolderIdAndDeletedFalse", MongoIndexes.TASK_FOLDER_LIVE,
+						() -> reactiveTaskRepository.findAllByFolderIdAndDeletedFalse("folder-1").collectList().block()),
+				query(ReactiveFolderRepository.class, "findAllByUserIdAndDeletedFalse",
+						MongoIndexes.FOLDER_USER_PARENT_LIVE,
+						() -> reactiveFolderRepository.findAllByUserIdAndDeletedFalse("user-1").collectList().block()),
+				query(ReactiveTaskAssigneeRepository.class, "findAllByTaskIdIn", MongoIndexes.ASSIGNEE_TASK_USER,
+						() -> reactiveTaskAssigneeRepository.findAllByTaskIdIn(List.of("task-1", "task-2"))
+								.collectList().block()));
+	}
+
+	@ParameterizedTest(name = "{0}")
+	@MethodSource("repositoryQueries")
+	void repositoryQueryUsesExpectedIndex(String method, String expectedIndex, Runnable invocation) {
+		assumeTrue(client != null, "No mongod reachable");
+		commands.clear();
+		invocation.run();
+
+		List<Document> queries = commands.stream()
+				.filter(c -> Stream.of("find", "count", "aggregate", "delete").anyMatch(c::containsKey))
+				.toList();
+		assertThat(queries).as("commands issued by %s", method).isNotEmpty();
+
+		for (Document command : queries) {
+			Document plan = explain(command);
+			Set<String> stages = new HashSet<>();
+			Set<String> indexes = new HashSet<>();
+			collect(plan, stages, indexes);
+
+			assertThat(stages).as("plan stages of %s", method).doesNotContain("COLLSCAN");
+			assertThat(indexes).as("indexes used by %s", method).containsExactly(expectedIndex);
+		}
+	}
+
+	@Test
+	void everyRepositoryQueryIsExplained() {
+		Set<String> declared = repositoryInterfaces().stream()
+				.flatMap(repository -> Arrays.stream(repository.getDeclaredMethods())
+						.map(method -> repository.getSimpleName() + "." + method.getName()))
+				.collect(Collectors.toSet());
+		Set<String> covered = repositoryQueries()
+				.map(arguments -> (String) arguments.get()[0])
+				.collect(Collectors.toSet());
+
+		assertThat(covered).containsExactlyInAnyOrderElementsOf(declared);
+	}
+
+	@Test
+	void repositoryScanFindsBlockingAndReactiveRepositories() {
+		assertThat(repositoryInterfaces()).contains(TaskRepository.class, ReactiveTaskRepository.class,
+				MigrationCheckpointRepository.class, ReactiveUserRepository.class);
+	}
+
+	@Test
+	void existingIndexUnderAnotherNameIsKept() {
+		assumeTrue(client != null, "No mongod reachable");
+		MongoTemplate renamed = new MongoTemplate(client, DATABASE + "_renamed");
+		try {
+			renamed.getCollection("tasks").createIndex(new Document("creatorId", 1),
+					new IndexOptions().name("creatorId_1")
+							.partialFilterExpression(new Document("deleted", false)));
+
+			MongoIndexes.ensureIndexes(renamed);
+
+			assertThat(renamed.indexOps(Task.class).getIndexInfo()).extracting(IndexInfo::getName)
+					.contains("creatorId_1", MongoIndexes.TASK_FOLDER_LIVE)
+					.doesNotContain(MongoIndexes.TASK_CREATOR_LIVE);
+		} finally {
+			renamed.getDb().drop();
+		}
+	}
+
+	@Test
+	void duplicateLinksAreRemovedBeforeTheUniqueIndexIsBuilt() {
+		assumeTrue(client != null, "No mongod reachable");
+		MongoTemplate legacy = new MongoTemplate(client, DATABASE + "_duplicates");
+		try {
+			for (int i = 0; i < 3; i++) {
+				legacy.getCollection("task_assignees").insertOne(new Document("taskId", "t1").append("userId", "u1"));
+			}
+			legacy.getCollection("task_assignees").insertOne(new Document("taskId", "t1").append("userId", "u2"));
+
+			MongoIndexes.ensureIndexes(legacy);
+
+			assertThat(legacy.getCollection("task_assignees").countDocuments()).isEqualTo(2);
+			assertThat(legacy.indexOps(TaskAssignee.class).getIndexInfo()).extracting(IndexInfo::getName)
+					.contains(MongoIndexes.ASSIGNEE_TASK_USER);
+		} finally {
+			legacy.getDb().drop();
+		}
+	}
+
+	/** Every repository interface in the application package, blocking or reactive. */
+	private static Set<Class<?>> repositoryInterfaces() {
+		ClassPathScanningCandidateComponentProvider scanner = new ClassPathScanningCandidateComponentProvider(false) {
+			@Override
+			protected boolean isCandidateComponent(AnnotatedBeanDefinition definition) {
+				return definition.getMetadata().isInterface();
+			}
+		};
+		scanner.addIncludeFilter(new AssignableTypeFilter(Repository.class));
+		return scanner.findCandidateComponents("com.example.task_manager").stream()
+				.map(definition -> {
+					try {
+						return (Class<?>) Class.forName(definition.getBeanClassName());
+					} catch (ClassNotFoundException e) {
+						throw new IllegalStateException(e);
+					}
+				})
+				.collect(Collectors.toSet());
+	}
+
+	private static Arguments query(Class<?> repository, String method, String expectedIndex, Runnable invocation) {
+		return Arguments.of(repository.getSimpleName() + "." + method, expectedIndex, invocation);
+	}
+
+	private static Document explain(Document command) {
+		Document explained = new Document();
+		command.forEach((key, value) -> {
+			if (!key.startsWith("$") && !key.equals("lsid") && !key.equals("txnNumber")) {
+				explained.put(key, value);
+			}
+		});
+		return template.getDb().runCommand(new Document("explain", explained).append("verbosity", "queryPlanner"))
+				.get("queryPlanner", Document.class)
+				.get("winningPlan", Document.class);
+	}
+
+	private static void collect(Object node, Set<String> stages, Set<String> indexes) {
+		if (node instanceof Document document) {
+			document.forEach((key, value) -> {
+				if (key.equals("stage") && value instanceof String stage) {
+					stages.add(stage);
+				} else if (key.equals("indexName") && value instanceof String index) {
+					indexes.add(index);
+				} else {
+					collect(value, stages, indexes);
+				}
+			});
+		} else if (node instanceof List<?> list) {
+			list.forEach(item -> collect(item, stages, indexes));
+		}
+	}
+
+	/**
+	 * Mostly soft-deleted data with a few live documents per key, so a partial
+	 * index is clearly the best plan and full scans would stand out.
+	 */
+	private static void seed() {
+		List<Folder> folders = new ArrayList<>();
+		List<Task> tasks = new ArrayList<>();
+		List<TaskAssignee> assignees = new ArrayList<>();
+		List<NotificationOutbox> outbox = new ArrayList<>();
+		List<User> users = new ArrayList<>();
+		for (int i = 0; i < 500; i++) {
+			boolean deleted = i % 5 != 0;
+			String userId = "user-" + (i % 50);
+			folders.add(Folder.builder().name("Folder " + i).userId(userId)
+					.parentId(i % 2 == 0 ? "shared-parent" : "parent-" + (i % 25)).deleted(deleted).build());
+			tasks.add(Task.builder().title("Task " + i).folderId("folder-" + (i % 25))
+					.parentTaskId("parent-" + (i % 25)).creatorId(userId)
+					.assigneeIds(List.of(userId)).deleted(deleted).build());
+			assignees.add(TaskAssignee.builder().taskId("task-" + i).userId(userId).build());
+			outbox.add(NotificationOutbox.builder().taskId("task-" + i).userId(userId)
+					.claimId(i % 10 == 0 ? "claim-" + (i % 3) : null).build());
+			users.add(User.builder().username("user-" + i).password("x").role(User.Role.USER).build());
+		}
+		template.insertAll(folders);
+		template.insertAll(tasks);
+		template.insertAll(assignees);
+		template.insertAll(outbox);
+		template.insertAll(users);
+	}
+
+}
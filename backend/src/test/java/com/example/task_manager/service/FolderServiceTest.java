@@ -0,0 +1,70 @@
+package com.example.task_manager.service;
+
+import com.example.task_manager.mapper.FolderMapper;
+import com.example.task_manager.model.Folder;
+import com.example.task_manager.repository.FolderRepository;
+import com.mongodb.client.result.UpdateResult;
+import org.bson.Document;
+import org.bson.types.ObjectId;
+import org.junit.jupiter.api.Test;
+import org.mockito.InOrder;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.Aggregation;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class FolderServiceTest {
+
+	@Test
+	void deleteFolderTreeDeletesDeepestChunksFirstAndTheRootLast() {
+		FolderRepository folderRepository = mock(FolderRepository.class);
+		FolderTreeCache folderTreeCache = mock(FolderTreeCache.class);
+		MongoTemplate mongoTemplate = mock(MongoTemplate.class);
+		TaskService taskService = mock(TaskService.class);
+		FolderService folderService = new FolderService(folderRepository, mock(FolderMapper.class), folderTreeCache,
+				mongoTemplate, taskService);
+		ReflectionTestUtils.setField(folderService, "deleteBatchSize", 2);
+
+		String root = new ObjectId().toHexString();
+		String grandchild1 = new ObjectId().toHexString();
+		String grandchild2 = new ObjectId().toHexString();
+		String child = new ObjectId().toHexString();
+		when(folderRepository.findById(root))
+				.thenReturn(Optional.of(Folder.builder().id(root).userId("owner").build()));
+		// The aggregation sorts by depth descending
+		when(mongoTemplate.aggregateStream(any(Aggregation.class), eq("folders"), eq(Document.class)))
+				.thenReturn(Stream.of(node(grandchild1, "owner", 1), node(grandchild2, "shared", 1),
+						node(child, "owner", 0)));
+		when(mongoTemplate.updateMulti(any(Query.class), any(Update.class), eq(Folder.class)))
+				.thenReturn(UpdateResult.acknowledged(2, 2L, null))
+				.thenReturn(UpdateResult.acknowledged(1, 1L, null))
+				.thenReturn(UpdateResult.acknowledged(1, 1L, null));
+
+		assertThat(folderService.deleteFolderTree(root)).isEqualTo(4);
+
+		InOrder order = inOrder(taskService);
+		order.verify(taskService).deleteTasksInFolders(List.of(grandchild1, grandchild2));
+		order.verify(taskService).deleteTasksInFolders(List.of(child));
+		order.verify(taskService).deleteTasksInFolders(List.of(root));
+		order.verifyNoMoreInteractions();
+		verify(folderTreeCache).invalidate("owner");
+		verify(folderTreeCache).invalidate("shared");
+	}
+
+	private static Document node(String nodeId, String userId, int depth) {
+		return new Document("nodeId", nodeId).append("userId", userId).append("depth", depth);
+	}
+}
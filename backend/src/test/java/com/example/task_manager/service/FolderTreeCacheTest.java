@@ -0,0 +1,32 @@
+package com.example.task_manager.service;
+
+import com.example.task_manager.dto.FolderDTO;
+import com.example.task_manager.mapper.FolderMapperImpl;
+import com.example.task_manager.model.Folder;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class FolderTreeCacheTest {
+
+	private final FolderTreeCache cache = new FolderTreeCache(new FolderMapperImpl(), 100);
+
+	@Test
+	void callersCannotChangeTheCachedTree() {
+		List<Folder> folders = List.of(
+				Folder.builder().id("root").name("Root").userId("user").build(),
+				Folder.builder().id("child").name("Child").userId("user").parentId("root").build());
+
+		List<FolderDTO> first = cache.get("user", () -> folders);
+		first.get(0).setName("Renamed");
+		first.get(0).getChildren().clear();
+		first.add(new FolderDTO());
+
+		List<FolderDTO> second = cache.getIfPresent("user");
+		assertThat(second).hasSize(1);
+		assertThat(second.get(0).getName()).isEqualTo("Root");
+		assertThat(second.get(0).getChildren()).extracting(FolderDTO::getId).containsExactly("child");
+	}
+}
@@ -0,0 +1,69 @@
+package com.example.task_manager.service;
+
+import com.example.task_manager.dto.TaskDTO;
+import com.example.task_manager.mapper.TaskMapperImpl;
+import com.example.task_manager.model.Task;
+import com.example.task_manager.model.TaskAssignee;
+import com.example.task_manager.repository.ReactiveFolderRepository;
+import com.example.task_manager.repository.ReactiveTaskAssigneeRepository;
+import com.example.task_manager.repository.ReactiveTaskRepository;
+import com.example.task_manager.repository.ReactiveUserRepository;
+import com.example.task_manager.repository.TaskAssigneeRepository;
+import com.example.task_manager.repository.TaskRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import reactor.core.publisher.Flux;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class ReactiveQueryServiceTest {
+
+	private ReactiveTaskRepository taskRepository;
+	private ReactiveTaskAssigneeRepository taskAssigneeRepository;
+	private ReactiveQueryService reactiveQueryService;
+
+	@BeforeEach
+	void setUp() {
+		taskRepository = mock(ReactiveTaskRepository.class);
+		taskAssigneeRepository = mock(ReactiveTaskAssigneeRepository.class);
+		TaskService taskService = new TaskService(mock(TaskRepository.class), mock(TaskAssigneeRepository.class),
+				new TaskMapperImpl(), mock(MongoTemplate.class), mock(ApplicationEventPublisher.class),
+				mock(TaskStatsService.class));
+		reactiveQueryService = new ReactiveQueryService(taskRepository, taskAssigneeRepository,
+				mock(ReactiveFolderRepository.class), mock(ReactiveUserRepository.class),
+				mock(ReactiveMongoTemplate.class), taskService, new TaskMapperImpl(), mock(FolderTreeCache.class));
+	}
+
+	@Test
+	void assigneesAreJoinedPerBatchInTaskOrder() {
+		List<Task> tasks = new ArrayList<>();
+		for (int i = 0; i < 600; i++) {
+			tasks.add(Task.builder().id("task-" + i).title("Task " + i).build());
+		}
+		when(taskRepository.findAllByFolderIdAndDeletedFalse("folder")).thenReturn(Flux.fromIterable(tasks));
+		when(taskAssigneeRepository.findAllByTaskIdIn(anyCollection())).thenAnswer(invocation -> {
+			Collection<String> taskIds = invocation.getArgument(0);
+			return Flux.fromIterable(taskIds)
+					.map(taskId -> TaskAssignee.builder().taskId(taskId).userId("user-" + taskId).build());
+		});
+
+		List<TaskDTO> result = reactiveQueryService.getTasksInFolder("folder").collectList().block();
+
+		assertThat(result).extracting(TaskDTO::getId).containsExactlyElementsOf(tasks.stream().map(Task::getId).toList());
+		assertThat(result).allSatisfy(dto -> assertThat(dto.getAssigneeIds()).containsExactly("user-" + dto.getId()));
+		verify(taskAssigneeRepository, times(3)).findAllByTaskIdIn(anyCollection());
+	}
+
+}
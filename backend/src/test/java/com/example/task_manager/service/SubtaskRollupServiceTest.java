@@ -0,0 +1,55 @@
+package com.example.task_manager.service;
+
+import com.example.task_manager.model.Task;
+import com.mongodb.bulk.BulkWriteResult;
+import com.mongodb.client.result.UpdateResult;
+import org.bson.Document;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.Aggregation;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class SubtaskRollupServiceTest {
+
+	@Test
+	void repairPassRewritesGroupedParentsAndClearsChildlessOnes() {
+		MongoTemplate mongoTemplate = mock(MongoTemplate.class);
+		BulkOperations ops = mock(BulkOperations.class);
+		when(mongoTemplate.aggregateStream(any(Aggregation.class), eq("tasks"), eq(Document.class)))
+				.thenReturn(Stream.of(new Document("_id", "parent").append("count", 2).append("sum", 150L)));
+		when(mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, Task.class)).thenReturn(ops);
+		when(ops.execute()).thenReturn(BulkWriteResult.acknowledged(0, 1, 0, 1, List.of(), List.of()));
+		when(mongoTemplate.stream(any(Query.class), eq(Task.class))).thenReturn(Stream.of(
+				Task.builder().id("parent").build(),
+				Task.builder().id("former-parent").build()));
+		when(mongoTemplate.updateMulti(any(Query.class), any(Update.class), eq(Task.class)))
+				.thenReturn(UpdateResult.acknowledged(1, 1L, null));
+
+		long changed = new SubtaskRollupService(mongoTemplate).repairPass();
+
+		assertThat(changed).isEqualTo(2);
+		ArgumentCaptor<Update> rollup = ArgumentCaptor.forClass(Update.class);
+		verify(ops).updateOne(any(Query.class), rollup.capture());
+		Document set = rollup.getValue().getUpdateObject().get("$set", Document.class);
+		assertThat(set.get("subtaskCount")).isEqualTo(2);
+		assertThat(set.get("subtaskProgressSum")).isEqualTo(150L);
+		assertThat(set.get("progress")).isEqualTo(75);
+		ArgumentCaptor<Query> cleared = ArgumentCaptor.forClass(Query.class);
+		verify(mongoTemplate).updateMulti(cleared.capture(), any(Update.class), eq(Task.class));
+		assertThat(cleared.getValue().getQueryObject().get("_id", Document.class).get("$in"))
+				.isEqualTo(List.of("former-parent"));
+	}
+}
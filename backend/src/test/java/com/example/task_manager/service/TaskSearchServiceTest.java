@@ -0,0 +1,51 @@
+package com.example.task_manager.service;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.data.mongodb.core.MongoTemplate;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+class TaskSearchServiceTest {
+
+	@Test
+	void snippetIsCentredOnEarliestMatch() {
+		String description = "a".repeat(100) + " Deploy the release " + "b".repeat(100);
+
+		String snippet = TaskSearchService.snippet(description, List.of("release", "deploy"));
+
+		assertThat(snippet).startsWith("…").endsWith("…").contains("Deploy the release");
+		assertThat(snippet.indexOf("Deploy")).isEqualTo(61);
+	}
+
+	@Test
+	void snippetKeepsOffsetsForTurkishUppercase() {
+		String description = "İ".repeat(80) + " RAPOR İstanbul";
+
+		String snippet = TaskSearchService.snippet(description, List.of("rapor"));
+
+		assertThat(snippet).startsWith("…").endsWith("RAPOR İstanbul");
+		assertThat(snippet.indexOf("RAPOR")).isEqualTo(61);
+	}
+
+	@Test
+	void snippetFallsBackToStartWhenOnlyTitleMatched() {
+		assertThat(TaskSearchService.snippet("Short   description", List.of("missing"))).isEqualTo("Short description");
+		assertThat(TaskSearchService.snippet(null, List.of("missing"))).isNull();
+	}
+
+	@Test
+	void userWithoutFoldersDoesNotQuery() {
+		MongoTemplate mongoTemplate = mock(MongoTemplate.class);
+		FolderService folderService = mock(FolderService.class);
+		when(folderService.getFolderIds("user")).thenReturn(List.of());
+
+		assertThat(new TaskSearchService(mongoTemplate, folderService).search("user", "release", 0, null)).isEmpty();
+		verifyNoInteractions(mongoTemplate);
+	}
+
+}
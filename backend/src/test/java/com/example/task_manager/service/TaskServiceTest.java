@@ -0,0 +1,400 @@
+package com.example.task_manager.service;
+
+import com.example.task_manager.dto.BulkTaskOperationDTO;
+import com.example.task_manager.dto.BulkTaskResultDTO;
+import com.example.task_manager.dto.TaskDTO;
+import com.example.task_manager.event.TaskAssignedEvent;
+import com.example.task_manager.event.TaskChangedEvent;
+import com.example.task_manager.mapper.TaskMapperImpl;
+import com.example.task_manager.model.Task;
+import com.example.task_manager.model.TaskAssignee;
+import com.example.task_manager.repository.TaskAssigneeRepository;
+import com.example.task_manager.repository.TaskRepository;
+import com.mongodb.bulk.BulkWriteResult;
+import com.mongodb.client.result.UpdateResult;
+import org.bson.BsonObjectId;
+import org.bson.Document;
+import org.bson.types.ObjectId;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.mockito.ArgumentCaptor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.Aggregation;
+import org.springframework.data.mongodb.core.aggregation.AggregationResults;
+import org.springframework.data.mongodb.core.aggregation.AggregationUpdate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.mockingDetails;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class TaskServiceTest {
+
+	private TaskRepository taskRepository;
+	private TaskAssigneeRepository taskAssigneeRepository;
+	private MongoTemplate mongoTemplate;
+	private ApplicationEventPublisher eventPublisher;
+	private TaskStatsService taskStatsService;
+	private TaskService taskService;
+
+	@BeforeEach
+	void setUp() {
+		taskRepository = mock(TaskRepository.class);
+		taskAssigneeRepository = mock(TaskAssigneeRepository.class);
+		mongoTemplate = mock(MongoTemplate.class);
+		eventPublisher = mock(ApplicationEventPublisher.class);
+		taskStatsService = mock(TaskStatsService.class);
+		taskService = new TaskService(taskRepository, taskAssigneeRepository, new TaskMapperImpl(), mongoTemplate,
+				eventPublisher, taskStatsService);
+	}
+
+	@ParameterizedTest
+	@ValueSource(ints = { 1, 10, 500 })
+	void getTasksInFolderUsesConstantNumberOfQueries(int taskCount) {
+		List<Task> tasks = tasks(taskCount);
+		when(taskRepository.findAllByFolderIdAndDeletedFalse("folder")).thenReturn(tasks);
+		when(taskAssigneeRepository.findAllByTaskIdIn(anyCollection())).thenReturn(assignees(tasks));
+
+		List<TaskDTO> result = taskService.getTasksInFolder("folder");
+
+		assertThat(result).hasSize(taskCount);
+		assertThat(result).allSatisfy(dto -> assertThat(dto.getAssigneeIds()).containsExactly("user-" + dto.getId()));
+		assertThat(mongoCommands()).isEqualTo(2);
+	}
+
+	@ParameterizedTest
+	@ValueSource(ints = { 1, 10, 500 })
+	void getTasksForUserRunsSingleAggregation(int taskCount) {
+		List<TaskDTO> dtos = new TaskMapperImpl().toDTOList(tasks(taskCount));
+		when(mongoTemplate.aggregate(any(Aggregation.class), eq("task_assignees"), eq(TaskDTO.class)))
+				.thenReturn(new AggregationResults<>(dtos, new Document()));
+
+		assertThat(taskService.getTasksForUser("user", TaskService.AssignedSort.PRIORITY, Sort.Direction.DESC, 0, 50))
+				.hasSize(taskCount);
+		assertThat(mongoCommands()).isEqualTo(1);
+	}
+
+	@Test
+	void coAssigneesAreJoinedAfterPaging() {
+		List<Document> pipeline = taskService.assignedTasksQuery("user", TaskService.AssignedSort.STATUS,
+				Sort.Direction.ASC, 2, 20).aggregation().toPipeline(Aggregation.DEFAULT_CONTEXT);
+		List<String> stages = pipeline.stream().map(stage -> stage.keySet().iterator().next()).toList();
+
+		assertThat(stages).containsSubsequence("$sort", "$skip", "$limit", "$lookup", "$project");
+		assertThat(pipeline.get(stages.indexOf("$skip")).get("$skip")).isEqualTo(40L);
+		assertThat(stages.subList(0, stages.indexOf("$skip"))).containsOnlyOnce("$lookup");
+	}
+
+	@Test
+	void negativePageIsRejected() {
+		assertThatThrownBy(() -> taskService.getTasksForUser("user", null, Sort.Direction.ASC, -1, 20))
+				.isInstanceOf(RuntimeException.class);
+		assertThat(mongoCommands()).isZero();
+	}
+
+	@Test
+	void emptyFolderSkipsAssigneeQuery() {
+		when(taskRepository.findAllByFolderIdAndDeletedFalse("folder")).thenReturn(new ArrayList<>());
+
+		assertThat(taskService.getTasksInFolder("folder")).isEmpty();
+		assertThat(mongoCommands()).isEqualTo(1);
+	}
+
+	@Test
+	void updateStatusIsSingleFindAndModify() {
+		Task previous = Task.builder().id("task-1").status(Task.Status.TODO).version(3L).build();
+		when(mongoTemplate.findAndModify(any(Query.class), any(Update.class), any(FindAndModifyOptions.class),
+				eq(Task.class))).thenReturn(previous);
+		when(taskAssigneeRepository.findAllByTaskId("task-1")).thenReturn(new ArrayList<>());
+
+		TaskDTO result = taskService.updateTaskStatus("task-1", Task.Status.DONE, 3L);
+
+		assertThat(result.getStatus()).isEqualTo(Task.Status.DONE);
+		assertThat(result.getVersion()).isEqualTo(4L);
+		verify(taskRepository, never()).findById(any());
+		verify(taskRepository, never()).save(any());
+	}
+
+	@Test
+	void updateStatusRecordsStatsFromPreviousState() {
+		Task previous = Task.builder().id("task-1").folderId("folder").status(Task.Status.TODO).version(3L).build();
+		when(mongoTemplate.findAndModify(any(Query.class), any(Update.class), any(FindAndModifyOptions.class),
+				eq(Task.class))).thenReturn(previous);
+		when(taskAssigneeRepository.findAllByTaskId("task-1"))
+				.thenReturn(List.of(TaskAssignee.builder().taskId("task-1").userId("user").build()));
+
+		taskService.updateTaskStatus("task-1", Task.Status.DONE, 3L);
+
+		ArgumentCaptor<TaskStatsService.Snapshot> before = ArgumentCaptor.forClass(TaskStatsService.Snapshot.class);
+		ArgumentCaptor<TaskStatsService.Snapshot> after = ArgumentCaptor.forClass(TaskStatsService.Snapshot.class);
+		verify(taskStatsService).record(before.capture(), after.capture());
+		assertThat(before.getValue().status()).isEqualTo(Task.Status.TODO);
+		assertThat(after.getValue().status()).isEqualTo(Task.Status.DONE);
+		assertThat(after.getValue().assigneeIds()).containsExactly("user");
+	}
+
+	@Test
+	@SuppressWarnings("unchecked")
+	void deleteTasksInFoldersWorksInBatchesUntilNoneAreLeft() {
+		when(mongoTemplate.find(any(Query.class), eq(Task.class)))
+				.thenReturn(tasks(3))
+				.thenReturn(tasks(2))
+				.thenReturn(new ArrayList<>());
+		when(mongoTemplate.updateMulti(any(Query.class), any(Update.class), eq(Task.class)))
+				.thenReturn(UpdateResult.acknowledged(3, 3L, null))
+				.thenReturn(UpdateResult.acknowledged(2, 2L, null));
+
+		assertThat(taskService.deleteTasksInFolders(List.of("folder-1", "folder-2"))).isEqualTo(5);
+		verify(taskAssigneeRepository, times(2)).findAllByTaskIdIn(anyCollection());
+		ArgumentCaptor<Collection<TaskStatsService.Snapshot>> removed = ArgumentCaptor.forClass(Collection.class);
+		verify(taskStatsService, times(2)).record(removed.capture(), eq(List.of()));
+		assertThat(removed.getAllValues()).extracting(Collection::size).containsExactly(3, 2);
+	}
+
+	@Test
+	void deleteTasksInFoldersCountsOutOnlyTheTasksItModified() {
+		List<Task> batch = tasks(3);
+		when(mongoTemplate.find(any(Query.class), eq(Task.class)))
+				.thenReturn(batch)
+				.thenReturn(List.of(batch.get(0), batch.get(2)))
+				.thenReturn(new ArrayList<>());
+		when(mongoTemplate.updateMulti(any(Query.class), any(Update.class), eq(Task.class)))
+				.thenReturn(UpdateResult.acknowledged(2, 2L, null));
+
+		assertThat(taskService.deleteTasksInFolders(List.of("folder-1"))).isEqualTo(2);
+		ArgumentCaptor<Collection<TaskStatsService.Snapshot>> removed = ArgumentCaptor.forClass(Collection.class);
+		verify(taskStatsService).record(removed.capture(), eq(List.of()));
+		assertThat(removed.getValue()).hasSize(2);
+	}
+
+	@Test
+	void deleteTasksInFoldersRollsSiblingsUpIntoTheirParentOnce() {
+		List<Task> batch = List.of(
+				Task.builder().id("child-1").parentTaskId("parent").status(Task.Status.IN_PROGRESS).progress(40).build(),
+				Task.builder().id("child-2").parentTaskId("parent").status(Task.Status.DONE).progress(100).build(),
+				Task.builder().id("child-3").parentTaskId("child-1").status(Task.Status.TODO).build());
+		Task parent = Task.builder().id("parent").status(Task.Status.IN_PROGRESS).progress(70)
+				.subtaskCount(2).subtaskProgressSum(140).version(1L).build();
+		when(mongoTemplate.find(any(Query.class), eq(Task.class)))
+				.thenReturn(batch)
+				.thenReturn(new ArrayList<>());
+		when(mongoTemplate.updateMulti(any(Query.class), any(Update.class), eq(Task.class)))
+				.thenReturn(UpdateResult.acknowledged(3, 3L, null));
+		when(mongoTemplate.findAndModify(any(Query.class), any(AggregationUpdate.class),
+				any(FindAndModifyOptions.class), eq(Task.class))).thenReturn(parent);
+
+		taskService.deleteTasksInFolders(List.of("folder-1"));
+
+		ArgumentCaptor<Query> parents = ArgumentCaptor.forClass(Query.class);
+		verify(mongoTemplate).findAndModify(parents.capture(), any(AggregationUpdate.class),
+				any(FindAndModifyOptions.class), eq(Task.class));
+		assertThat(parents.getValue().getQueryObject().get("_id")).isEqualTo("parent");
+		assertThat(parent.getSubtaskCount()).isZero();
+		assertThat(parent.getSubtaskProgressSum()).isZero();
+	}
+
+	@Test
+	void deletingAnAlreadyDeletedTaskLeavesTheStatsAlone() {
+		when(mongoTemplate.findAndModify(any(Query.class), any(Update.class), eq(Task.class))).thenReturn(null);
+		when(taskRepository.existsById("task-1")).thenReturn(true);
+
+		taskService.deleteTask("task-1", "user-1");
+
+		verify(taskStatsService, never()).record(any(TaskStatsService.Snapshot.class), any());
+		verify(eventPublisher, never()).publishEvent(any());
+	}
+
+	@Test
+	void childProgressRollsUpIntoParent() {
+		Task child = Task.builder().id("child").folderId("folder").creatorId("creator").parentTaskId("parent")
+				.status(Task.Status.IN_PROGRESS).progress(20).version(1L).build();
+		Task parent = Task.builder().id("parent").folderId("folder").status(Task.Status.IN_PROGRESS).progress(20)
+				.subtaskCount(2).subtaskProgressSum(40).version(5L).build();
+		when(mongoTemplate.findAndModify(any(Query.class), any(Update.class), any(FindAndModifyOptions.class),
+				eq(Task.class))).thenReturn(child);
+		when(mongoTemplate.findAndModify(any(Query.class), any(AggregationUpdate.class),
+				any(FindAndModifyOptions.class), eq(Task.class))).thenReturn(parent);
+		when(taskAssigneeRepository.findAllByTaskId(any())).thenReturn(new ArrayList<>());
+
+		taskService.updateProgress("child", 80, "creator", 1L);
+
+		verify(mongoTemplate, times(1)).findAndModify(any(Query.class), any(AggregationUpdate.class),
+				any(FindAndModifyOptions.class), eq(Task.class));
+		ArgumentCaptor<TaskChangedEvent> events = ArgumentCaptor.forClass(TaskChangedEvent.class);
+		verify(eventPublisher, times(2)).publishEvent(events.capture());
+		TaskDTO rolledUp = events.getAllValues().get(0).getChange().getTask();
+		assertThat(rolledUp.getId()).isEqualTo("parent");
+		assertThat(rolledUp.getProgress()).isEqualTo(50);
+		assertThat(rolledUp.getVersion()).isEqualTo(6L);
+	}
+
+	@Test
+	void doneChildCountsAsComplete() {
+		Task child = Task.builder().id("child").folderId("folder").parentTaskId("parent")
+				.status(Task.Status.IN_PROGRESS).progress(30).version(1L).build();
+		Task parent = Task.builder().id("parent").folderId("folder").status(Task.Status.IN_PROGRESS).progress(30)
+				.subtaskCount(1).subtaskProgressSum(30).version(2L).build();
+		when(mongoTemplate.findAndModify(any(Query.class), any(Update.class), any(FindAndModifyOptions.class),
+				eq(Task.class))).thenReturn(child);
+		when(mongoTemplate.findAndModify(any(Query.class), any(AggregationUpdate.class),
+				any(FindAndModifyOptions.class), eq(Task.class))).thenReturn(parent);
+		when(taskAssigneeRepository.findAllByTaskId(any())).thenReturn(new ArrayList<>());
+
+		taskService.updateTaskStatus("child", Task.Status.DONE, 1L);
+
+		ArgumentCaptor<TaskChangedEvent> events = ArgumentCaptor.forClass(TaskChangedEvent.class);
+		verify(eventPublisher, times(2)).publishEvent(events.capture());
+		assertThat(events.getAllValues().get(0).getChange().getTask().getProgress()).isEqualTo(100);
+	}
+
+	@Test
+	void updateProgressByNonCreatorIsRejected() {
+		when(taskRepository.findById("task-1"))
+				.thenReturn(Optional.of(Task.builder().id("task-1").creatorId("creator").build()));
+
+		assertThatThrownBy(() -> taskService.updateProgress("task-1", 50, "someone-else", null))
+				.hasMessage("Only the task creator can update progress");
+	}
+
+	@Test
+	void staleVersionIsReportedAsConflict() {
+		when(taskRepository.findById("task-1"))
+				.thenReturn(Optional.of(Task.builder().id("task-1").creatorId("creator").version(5L).build()));
+
+		assertThatThrownBy(() -> taskService.updateTaskPriority("task-1", Task.Priority.HIGH, 4L))
+				.isInstanceOf(OptimisticLockingFailureException.class);
+	}
+
+	@Test
+	void toggleRemovesExistingAssignmentWithoutAssignedEvent() {
+		when(taskAssigneeRepository.deleteByTaskIdAndUserId("task-1", "user")).thenReturn(1L);
+
+		taskService.toggleAssignee("task-1", "user");
+
+		verify(mongoTemplate, never()).upsert(any(Query.class), any(Update.class), eq(TaskAssignee.class));
+		verify(eventPublisher, never()).publishEvent(any(TaskAssignedEvent.class));
+	}
+
+	@Test
+	void togglePublishesAssignedEventOnlyWhenInserted() {
+		when(mongoTemplate.upsert(any(Query.class), any(Update.class), eq(TaskAssignee.class)))
+				.thenReturn(UpdateResult.acknowledged(0, 0L, new BsonObjectId()))
+				.thenReturn(UpdateResult.acknowledged(1, 0L, null));
+
+		taskService.toggleAssignee("task-1", "user");
+		taskService.toggleAssignee("task-1", "user");
+
+		verify(eventPublisher, times(1)).publishEvent(any(TaskAssignedEvent.class));
+	}
+
+	@Test
+	void embeddedArrayFollowsTheLinkNotTheToggleDirection() {
+		ReflectionTestUtils.setField(taskService, "assigneeStorage", TaskService.AssigneeStorage.DUAL_WRITE);
+		when(taskAssigneeRepository.deleteByTaskIdAndUserId("task-1", "user")).thenReturn(1L);
+		// A concurrent toggle re-added the link right after this one removed it
+		when(taskAssigneeRepository.existsByTaskIdAndUserId("task-1", "user")).thenReturn(true);
+
+		taskService.toggleAssignee("task-1", "user");
+
+		ArgumentCaptor<Update> update = ArgumentCaptor.forClass(Update.class);
+		verify(mongoTemplate).findAndModify(any(Query.class), update.capture(), eq(Task.class));
+		assertThat(update.getValue().getUpdateObject()).containsKey("$addToSet").doesNotContainKey("$pull");
+	}
+
+	private int mongoCommands() {
+		return mockingDetails(taskRepository).getInvocations().size()
+				+ mockingDetails(taskAssigneeRepository).getInvocations().size()
+				+ mockingDetails(mongoTemplate).getInvocations().size();
+	}
+
+	@Test
+	void bulkOperationOnConcurrentlyDeletedTaskFails() {
+		Task kept = Task.builder().id(new ObjectId().toHexString()).folderId("folder").status(Task.Status.TODO)
+				.build();
+		Task gone = Task.builder().id(new ObjectId().toHexString()).folderId("folder").status(Task.Status.TODO)
+				.build();
+		when(mongoTemplate.find(any(Query.class), eq(Task.class)))
+				.thenReturn(new ArrayList<>(List.of(kept, gone)))
+				.thenReturn(new ArrayList<>(List.of(kept)));
+		BulkOperations taskOps = mock(BulkOperations.class);
+		when(mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, Task.class)).thenReturn(taskOps);
+		when(mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, TaskAssignee.class))
+				.thenReturn(mock(BulkOperations.class));
+		// Only one of the two updates matched
+		when(taskOps.execute()).thenReturn(BulkWriteResult.acknowledged(0, 1, 0, 1, List.of(), List.of()));
+		when(taskRepository.findAllById(any())).thenReturn(List.of(kept));
+		ReflectionTestUtils.setField(taskService, "maxBulkOperations", 10);
+
+		List<BulkTaskResultDTO> results = taskService.bulkUpdate(List.of(
+				BulkTaskOperationDTO.builder().type(BulkTaskOperationDTO.Type.STATUS).taskId(kept.getId())
+						.status(Task.Status.DONE).build(),
+				BulkTaskOperationDTO.builder().type(BulkTaskOperationDTO.Type.STATUS).taskId(gone.getId())
+						.status(Task.Status.DONE).build()), "user");
+
+		assertThat(results).extracting(BulkTaskResultDTO::isSuccess).containsExactly(true, false);
+		ArgumentCaptor<Collection<TaskStatsService.Snapshot>> after = ArgumentCaptor.forClass(Collection.class);
+		verify(taskStatsService).record(anyCollection(), after.capture());
+		assertThat(after.getValue()).hasSize(1);
+	}
+
+	@Test
+	void secondChangeOfTheSameTaskInOneRequestFails() {
+		Task task = Task.builder().id(new ObjectId().toHexString()).folderId("folder").creatorId("user")
+				.status(Task.Status.TODO).build();
+		when(mongoTemplate.find(any(Query.class), eq(Task.class))).thenReturn(new ArrayList<>(List.of(task)));
+		BulkOperations taskOps = mock(BulkOperations.class);
+		when(mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, Task.class)).thenReturn(taskOps);
+		when(mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, TaskAssignee.class))
+				.thenReturn(mock(BulkOperations.class));
+		when(taskOps.execute()).thenReturn(BulkWriteResult.acknowledged(0, 1, 0, 1, List.of(), List.of()));
+		when(taskRepository.findAllById(any())).thenReturn(List.of(task));
+		ReflectionTestUtils.setField(taskService, "maxBulkOperations", 10);
+
+		List<BulkTaskResultDTO> results = taskService.bulkUpdate(List.of(
+				BulkTaskOperationDTO.builder().type(BulkTaskOperationDTO.Type.STATUS).taskId(task.getId())
+						.status(Task.Status.DONE).build(),
+				BulkTaskOperationDTO.builder().type(BulkTaskOperationDTO.Type.DELETE).taskId(task.getId()).build()),
+				"user");
+
+		assertThat(results).extracting(BulkTaskResultDTO::isSuccess).containsExactly(true, false);
+		assertThat(results.get(1).getError()).contains("operation 0");
+		verify(taskOps, times(1)).updateOne(any(Query.class), any(Update.class));
+	}
+
+	private static List<Task> tasks(int count) {
+		List<Task> tasks = new ArrayList<>();
+		for (int i = 0; i < count; i++) {
+			tasks.add(Task.builder().id("task-" + i).title("Task " + i).build());
+		}
+		return tasks;
+	}
+
+	private static List<TaskAssignee> assignees(List<Task> tasks) {
+		return tasks.stream()
+				.map(t -> TaskAssignee.builder().taskId(t.getId()).userId("user-" + t.getId()).build())
+				.toList();
+	}
+
+}
@@ -0,0 +1,77 @@
+package com.example.task_manager.service;
+
+import com.example.task_manager.dto.TaskStatsDTO;
+import com.example.task_manager.model.Task;
+import com.example.task_manager.model.TaskStats;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TaskStatsServiceTest {
+
+	private static final LocalDate TODAY = LocalDate.of(2025, 3, 10);
+
+	@Test
+	void statusChangeMovesCountsForFolderAndAssignees() {
+		TaskStatsService.Snapshot before = snapshot(Task.Status.TODO, 20, TODAY.minusDays(1), List.of("u1", "u2"));
+		TaskStatsService.Snapshot after = snapshot(Task.Status.DONE, 100, TODAY.minusDays(1), List.of("u1", "u2"));
+
+		Map<String, Map<String, Long>> deltas = TaskStatsService.deltas(List.of(before), List.of(after));
+
+		assertThat(deltas).containsOnlyKeys("global:0", "folder:f1", "user:u1", "user:u2");
+		assertThat(deltas.get("global:0")).isEqualTo(deltas.get("folder:f1"));
+		assertThat(deltas.get("folder:f1")).containsExactlyInAnyOrderEntriesOf(Map.of(
+				"byStatus.TODO", -1L,
+				"byStatus.DONE", 1L,
+				"progressSum", 80L,
+				"openByEndDate.2025-03-09", -1L));
+	}
+
+	@Test
+	void assignmentOnlyTouchesTheUser() {
+		TaskStatsService.Snapshot without = snapshot(Task.Status.TODO, 0, null, List.of());
+
+		Map<String, Map<String, Long>> deltas = TaskStatsService.deltas(List.of(without),
+				List.of(without.withAssignees(List.of("u1"))));
+
+		assertThat(deltas).containsOnlyKeys("user:u1");
+		assertThat(deltas.get("user:u1")).containsEntry("total", 1L).containsEntry("byPriority.MEDIUM", 1L);
+	}
+
+	@Test
+	void deletedTasksAreNotCounted() {
+		TaskStatsService.Snapshot live = snapshot(Task.Status.TODO, 50, null, List.of("u1"));
+		TaskStatsService.Snapshot deleted = new TaskStatsService.Snapshot("f1", Task.Status.TODO,
+				Task.Priority.MEDIUM, 50, null, true, List.of("u1"));
+
+		assertThat(TaskStatsService.deltas(List.of(deleted), List.of(deleted))).isEmpty();
+		assertThat(TaskStatsService.deltas(List.of(live), List.of(deleted)).get("folder:f1"))
+				.containsEntry("total", -1L).containsEntry("progressSum", -50L);
+	}
+
+	@Test
+	void overdueCountsOpenTasksDueBeforeToday() {
+		TaskStats stats = TaskStats.builder()
+				.total(4)
+				.progressSum(150)
+				.byStatus(Map.of("TODO", 3L, "DONE", 1L, "IN_PROGRESS", 0L))
+				.openByEndDate(Map.of("2025-03-08", 2L, "2025-03-10", 1L))
+				.build();
+
+		TaskStatsDTO dto = TaskStatsService.toDTO(stats, TODAY);
+
+		assertThat(dto.getOverdueTasks()).isEqualTo(2);
+		assertThat(dto.getAverageProgress()).isEqualTo(37.5);
+		assertThat(dto.getStatusCounts()).containsOnlyKeys(Task.Status.TODO, Task.Status.DONE);
+	}
+
+	private static TaskStatsService.Snapshot snapshot(Task.Status status, int progress, LocalDate endDate,
+			List<String> assignees) {
+		return new TaskStatsService.Snapshot("f1", status, Task.Priority.MEDIUM, progress, endDate, false, assignees);
+	}
+
+}
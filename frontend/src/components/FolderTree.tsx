@@ -36,7 +36,7 @@ const FolderItem: React.FC<{ folder: Folder; onSelect: (id: string) => void; sel
 
     const handleDelete = (e: React.MouseEvent) => {
         e.stopPropagation();
-        if (confirm(`"${folder.name}" klasörünü silmek istediğinizden emin misiniz?`)) {
+        if (confirm(`"${folder.name}" klasörünü alt klasörleri ve görevleriyle birlikte silmek istediğinizden emin misiniz?`)) {
             deleteFolder(folder.id);
         }
     };
@@ -175,8 +175,10 @@ export const TaskDetailDrawer: React.FC<TaskDetailDrawerProps> = ({ task, isOpen
                             max={100}
                             step={5}
                             value={progress}
+                            disabled={(task.subtaskCount ?? 0) > 0}
+                            title={(task.subtaskCount ?? 0) > 0 ? 'Alt görevlerin ilerlemesinden hesaplanır' : undefined}
                             onChange={e => { setProgress(Number(e.target.value)); markChanged(); }}
-                            className="w-full accent-primary h-1.5"
+                            className="w-full accent-primary h-1.5 disabled:opacity-40"
                         />
                     </div>
 
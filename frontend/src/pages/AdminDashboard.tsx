@@ -22,6 +22,9 @@ interface Task {
 const AdminDashboard: React.FC = () => {
     const [users, setUsers] = useState<User[]>([]);
     const [tasks, setTasks] = useState<Task[]>([]);
+    const [taskTotal, setTaskTotal] = useState(0);
+    const [nextCursor, setNextCursor] = useState<string | null>(null);
+    const [isLoadingMore, setIsLoadingMore] = useState(false);
     const [showAddUser, setShowAddUser] = useState(false);
     const [newUsername, setNewUsername] = useState('');
     const [newPassword, setNewPassword] = useState('');
@@ -37,12 +40,15 @@ const AdminDashboard: React.FC = () => {
         setIsLoading(true);
         setError(null);
         try {
-            const [usersRes, tasksRes] = await Promise.all([
+            const [usersRes, tasksRes, countRes] = await Promise.all([
                 api.get('/admin/users'),
-                api.get('/admin/tasks')
+                api.get('/admin/tasks'),
+                api.get('/admin/tasks/count')
             ]);
             setUsers(usersRes.data);
-            setTasks(tasksRes.data);
+            setTasks(tasksRes.data.items);
+            setNextCursor(tasksRes.data.nextCursor ?? null);
+            setTaskTotal(countRes.data.total);
         } catch (err: any) {
             console.error('Data fetch failed', err);
             // Even if it fails, we show the dashboard for dev purposes as requested (No JWT)
@@ -57,6 +63,20 @@ const AdminDashboard: React.FC = () => {
         }
     };
 
+    const loadMoreTasks = async () => {
+        if (!nextCursor) return;
+        setIsLoadingMore(true);
+        try {
+            const response = await api.get('/admin/tasks', { params: { cursor: nextCursor } });
+            setTasks(prev => [...prev, ...response.data.items]);
+            setNextCursor(response.data.nextCursor ?? null);
+        } catch (err: any) {
+            alert('Failed to load more tasks');
+        } finally {
+            setIsLoadingMore(false);
+        }
+    };
+
     const handleAddUser = async (e: React.FormEvent) => {
         e.preventDefault();
         try {
@@ -89,6 +109,7 @@ const AdminDashboard: React.FC = () => {
         try {
             await api.delete(`/admin/tasks/${id}`);
             setTasks(tasks.filter(t => t.id !== id));
+            setTaskTotal(total => Math.max(total - 1, 0));
         } catch (err: any) {
             alert('Failed to delete task');
         }
@@ -137,7 +158,7 @@ const AdminDashboard: React.FC = () => {
                     </Card>
                     <Card className="p-6">
                         <p className="text-[10px] font-black text-gray-400 uppercase tracking-widest mb-1">System Wide Tasks</p>
-                        <h2 className="text-3xl font-bold text-gray-800">{tasks.length}</h2>
+                        <h2 className="text-3xl font-bold text-gray-800">{taskTotal}</h2>
                     </Card>
                     <Card className="p-6 bg-primary text-white border-none shadow-lg shadow-primary/20">
                         <p className="text-[10px] font-black text-white/60 uppercase tracking-widest mb-1">System Status</p>
@@ -217,6 +238,13 @@ const AdminDashboard: React.FC = () => {
                                 </div>
                             ))}
                         </div>
+                        {nextCursor && (
+                            <div className="flex justify-center">
+                                <Button onClick={loadMoreTasks} size="sm" variant="secondary" isLoading={isLoadingMore}>
+                                    {`Load more (${tasks.length} of ${taskTotal})`}
+                                </Button>
+                            </div>
+                        )}
                     </section>
                 </div>
             </div>
@@ -3,6 +3,7 @@ import { motion, AnimatePresence } from 'framer-motion';
 import { FolderTree } from '../components/FolderTree';
 import { TaskPanel } from '../components/TaskPanel';
 import { useTaskStore } from '../store/useTaskStore';
+import type { TaskSearchResult } from '../types';
 import { LogOut, Bell, Search, LayoutPanelLeft, Sparkles, ChevronRight } from 'lucide-react';
 
 
@@ -18,10 +19,13 @@ const findFolder = (folders: any[], id: string): any | undefined => {
 };
 
 export const Dashboard: React.FC = () => {
-    const { folders, fetchFolders, fetchTasks, fetchUsers } = useTaskStore();
+    const { folders, fetchFolders, fetchTasks, fetchUsers, subscribeToFolder, searchTasks } = useTaskStore();
     const [selectedFolderId, setSelectedFolderId] = useState<string | undefined>();
     const [selectedFolderName, setSelectedFolderName] = useState<string | undefined>();
     const [user, setUser] = useState<any>(null);
+    const [searchOpen, setSearchOpen] = useState(false);
+    const [searchQuery, setSearchQuery] = useState('');
+    const [searchResults, setSearchResults] = useState<TaskSearchResult[]>([]);
 
     useEffect(() => {
         fetchFolders();
@@ -34,6 +38,11 @@ export const Dashboard: React.FC = () => {
         }
     }, []);
 
+    useEffect(() => {
+        if (!selectedFolderId) return;
+        return subscribeToFolder(selectedFolderId);
+    }, [selectedFolderId]);
+
     const handleFolderSelect = (id: string) => {
         setSelectedFolderId(id);
         const found = findFolder(folders, id);
@@ -41,6 +50,23 @@ export const Dashboard: React.FC = () => {
         fetchTasks(id);
     };
 
+    // Debounced so typing issues one search request per pause, not per keystroke
+    useEffect(() => {
+        const query = searchQuery.trim();
+        if (query.length < 2) {
+            setSearchResults([]);
+            return;
+        }
+        const timer = setTimeout(async () => setSearchResults(await searchTasks(query)), 300);
+        return () => clearTimeout(timer);
+    }, [searchQuery]);
+
+    const handleSearchSelect = (result: TaskSearchResult) => {
+        setSearchOpen(false);
+        setSearchQuery('');
+        handleFolderSelect(result.folderId);
+    };
+
     const handleLogout = () => {
         localStorage.removeItem('user');
         window.location.reload();
@@ -81,12 +107,40 @@ export const Dashboard: React.FC = () => {
                     </div>
 
                     <div className="flex items-center gap-4">
-                        <div className="flex gap-1">
-                            {[Search, Bell].map((Icon, i) => (
-                                <button key={i} className="p-2 text-gray-400 hover:text-gray-600 hover:bg-gray-50 rounded-lg transition-all">
-                                    <Icon size={18} />
-                                </button>
-                            ))}
+                        <div className="flex gap-1 relative">
+                            {searchOpen && (
+                                <input
+                                    autoFocus
+                                    value={searchQuery}
+                                    onChange={e => setSearchQuery(e.target.value)}
+                                    onKeyDown={e => e.key === 'Escape' && setSearchOpen(false)}
+                                    placeholder="Görev ara..."
+                                    className="w-64 px-3 py-1.5 text-xs border border-gray-200 rounded-lg focus:outline-none focus:border-primary"
+                                />
+                            )}
+                            <button onClick={() => setSearchOpen(!searchOpen)} className="p-2 text-gray-400 hover:text-gray-600 hover:bg-gray-50 rounded-lg transition-all">
+                                <Search size={18} />
+                            </button>
+                            <button className="p-2 text-gray-400 hover:text-gray-600 hover:bg-gray-50 rounded-lg transition-all">
+                                <Bell size={18} />
+                            </button>
+                            {searchOpen && searchResults.length > 0 && (
+                                <div className="absolute top-full left-0 mt-2 w-80 bg-white border border-gray-100 rounded-xl shadow-lg z-50 max-h-96 overflow-y-auto">
+                                    {searchResults.map(r => (
+                                        <button
+                                            key={r.id}
+                                            onClick={() => handleSearchSelect(r)}
+                                            className="w-full text-left px-4 py-3 hover:bg-gray-50 border-b border-gray-50 last:border-none"
+                                        >
+                                            <p className="text-xs font-bold text-gray-800">{r.title}</p>
+                                            {r.snippet && <p className="text-[11px] text-gray-400 mt-0.5 line-clamp-2">{r.snippet}</p>}
+                                            <p className="text-[9px] font-bold text-gray-300 uppercase mt-1">
+                                                {findFolder(folders, r.folderId)?.name} · {r.status}
+                                            </p>
+                                        </button>
+                                    ))}
+                                </div>
+                            )}
                         </div>
 
                         <div className="h-6 w-[1px] bg-gray-100 mx-1" />
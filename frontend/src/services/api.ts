@@ -12,4 +12,24 @@ api.interceptors.request.use((config) => {
     return config;
 });
 
+// Last ETag seen per URL. The browser HTTP cache would also revalidate, but
+// keeping the validator here lets callers skip re-rendering on a 304.
+const etags = new Map<string, string>();
+
+/**
+ * Conditional GET: resolves to null when the server answers 304 Not Modified.
+ * Pass useValidator=false when the caller no longer holds the previous body.
+ */
+export const getIfChanged = async <T>(url: string, useValidator = true): Promise<T | null> => {
+    const etag = useValidator ? etags.get(url) : undefined;
+    const response = await api.get<T>(url, {
+        headers: etag ? { 'If-None-Match': etag } : {},
+        validateStatus: (status) => (status >= 200 && status < 300) || status === 304,
+    });
+    if (response.status === 304) return null;
+    const received = response.headers['etag'];
+    if (received) etags.set(url, received);
+    return response.data;
+};
+
 export default api;
@@ -1,16 +1,20 @@
 import { create } from 'zustand';
-import api from '../services/api';
-import type { Folder, Task, TaskStatus, Priority, User } from '../types';
+import api, { getIfChanged } from '../services/api';
+import type { CursorPage, Folder, Task, TaskChange, TaskSearchResult, TaskStatus, Priority, User } from '../types';
 
 interface TaskState {
     folders: Folder[];
     tasks: Task[];
+    activeFolderId: string | null;
     users: User[];
     loading: boolean;
     error: string | null;
     fetchFolders: () => Promise<void>;
     fetchTasks: (folderId: string) => Promise<void>;
+    subscribeToFolder: (folderId: string) => () => void;
+    applyTaskChange: (change: TaskChange) => void;
     fetchUsers: () => Promise<void>;
+    searchTasks: (query: string) => Promise<TaskSearchResult[]>;
     createFolder: (name: string, parentId?: string) => Promise<void>;
     createTask: (taskData: Partial<Task>) => Promise<void>;
     updateTaskStatus: (taskId: string, status: TaskStatus) => Promise<void>;
@@ -22,9 +26,13 @@ interface TaskState {
     deleteTask: (taskId: string) => Promise<void>;
 }
 
+// task.pagination.max-page-size on the server
+const TASK_PAGE_SIZE = 200;
+
 export const useTaskStore = create<TaskState>((set, get) => ({
     folders: [],
     tasks: [],
+    activeFolderId: null,
     users: [],
     loading: false,
     error: null,
@@ -32,23 +40,92 @@ export const useTaskStore = create<TaskState>((set, get) => ({
     fetchFolders: async () => {
         set({ loading: true });
         try {
-            const response = await api.get('/folders/tree');
-            set({ folders: response.data, loading: false });
+            const folders = await getIfChanged<Folder[]>('/folders/tree', get().folders.length > 0);
+            set(folders ? { folders, loading: false } : { loading: false });
         } catch (error: any) {
             set({ error: error.message, loading: false });
         }
     },
 
+    // Reads the folder page by page. The first page carries the folder-wide ETag,
+    // so a 304 there means the list held in the store is still current.
     fetchTasks: async (folderId: string) => {
-        set({ loading: true });
+        const sameFolder = get().activeFolderId === folderId;
+        set({ loading: true, activeFolderId: folderId });
         try {
-            const response = await api.get(`/tasks/folder/${folderId}`);
-            set({ tasks: response.data, loading: false });
+            const url = `/tasks/folder/${folderId}/page?limit=${TASK_PAGE_SIZE}`;
+            const first = await getIfChanged<CursorPage<Task>>(url, sameFolder);
+            if (!first) {
+                set({ loading: false });
+                return;
+            }
+            let tasks = first.items;
+            let cursor = first.nextCursor;
+            while (cursor) {
+                const { data } = await api.get<CursorPage<Task>>(url, { params: { cursor } });
+                tasks = [...tasks, ...data.items];
+                cursor = data.nextCursor;
+            }
+            // Another folder may have been opened while the pages were loading
+            if (get().activeFolderId === folderId) {
+                set({ tasks, loading: false });
+            }
         } catch (error: any) {
             set({ error: error.message, loading: false });
         }
     },
 
+    // Live updates for the open folder: the server pushes compact change events
+    // which are applied locally instead of refetching the whole task list.
+    subscribeToFolder: (folderId: string) => {
+        const source = new EventSource(`${api.defaults.baseURL}/tasks/folder/${folderId}/events`);
+        let connected = false;
+        source.onopen = () => {
+            // Events may have been dropped while disconnected; resync once on reconnect
+            if (connected) {
+                get().fetchTasks(folderId);
+            }
+            connected = true;
+        };
+        source.addEventListener('task', (event) => {
+            get().applyTaskChange(JSON.parse((event as MessageEvent).data));
+        });
+        return () => source.close();
+    },
+
+    applyTaskChange: (change: TaskChange) => {
+        set((state) => {
+            switch (change.type) {
+                case 'CREATED':
+                case 'UPDATED': {
+                    const task = change.task!;
+                    const exists = state.tasks.some((t) => t.id === task.id);
+                    return {
+                        tasks: exists
+                            ? state.tasks.map((t) => (t.id === task.id ? task : t))
+                            : [...state.tasks, task],
+                    };
+                }
+                case 'DELETED':
+                    return { tasks: state.tasks.filter((t) => t.id !== change.taskId) };
+                case 'ASSIGNEE_ADDED':
+                case 'ASSIGNEE_REMOVED':
+                    return {
+                        tasks: state.tasks.map((t) => {
+                            if (t.id !== change.taskId) return t;
+                            const others = t.assigneeIds.filter((id) => id !== change.userId);
+                            return {
+                                ...t,
+                                assigneeIds: change.type === 'ASSIGNEE_ADDED' ? [...others, change.userId!] : others,
+                            };
+                        }),
+                    };
+                default:
+                    return {};
+            }
+        });
+    },
+
     fetchUsers: async () => {
         try {
             const response = await api.get('/users');
@@ -58,6 +135,16 @@ export const useTaskStore = create<TaskState>((set, get) => ({
         }
     },
 
+    searchTasks: async (query: string) => {
+        try {
+            const response = await api.get('/tasks/search', { params: { q: query, size: 20 } });
+            return response.data;
+        } catch (error: any) {
+            console.error('searchTasks error:', error);
+            return [];
+        }
+    },
+
     createFolder: async (name: string, parentId?: string) => {
         try {
             await api.post('/folders', { name, parentId });
@@ -69,9 +156,9 @@ export const useTaskStore = create<TaskState>((set, get) => ({
 
     createTask: async (taskData: Partial<Task>) => {
         try {
-            await api.post('/tasks', taskData);
-            if (taskData.folderId) {
-                await get().fetchTasks(taskData.folderId);
+            const response = await api.post('/tasks', taskData);
+            if (taskData.folderId && taskData.folderId === get().activeFolderId) {
+                get().applyTaskChange({ type: 'CREATED', taskId: response.data.id, task: response.data });
             }
         } catch (error: any) {
             console.error('createTask error:', error);
@@ -125,17 +212,17 @@ export const useTaskStore = create<TaskState>((set, get) => ({
         }
     },
 
+    // The direction is fixed before the request and applied idempotently: the SSE
+    // event for the same change may already have updated the list by the time it resolves.
     toggleAssignee: async (taskId: string, userId: string) => {
+        const assign = !get().tasks.find((t) => t.id === taskId)?.assigneeIds.includes(userId);
         try {
             await api.post(`/tasks/${taskId}/assign/${userId}`);
             set((state) => ({
                 tasks: state.tasks.map((t) => {
                     if (t.id === taskId) {
-                        const exists = t.assigneeIds.includes(userId);
-                        const newIds = exists
-                            ? t.assigneeIds.filter(id => id !== userId)
-                            : [...t.assigneeIds, userId];
-                        return { ...t, assigneeIds: newIds };
+                        const others = t.assigneeIds.filter(id => id !== userId);
+                        return { ...t, assigneeIds: assign ? [...others, userId] : others };
                     }
                     return t;
                 }),
@@ -147,7 +234,7 @@ export const useTaskStore = create<TaskState>((set, get) => ({
 
     deleteFolder: async (folderId: string) => {
         try {
-            await api.delete(`/folders/${folderId}`);
+            await api.delete(`/folders/${folderId}`, { params: { recursive: true } });
             get().fetchFolders();
         } catch (error: any) {
             alert(error.response?.data?.message || 'Klasör silinirken hata oluştu');
@@ -29,7 +29,32 @@ export interface Task {
     startDate?: string;
     endDate?: string;
     progress: number;
+    subtaskCount?: number;
     createdAt: string;
     updatedAt: string;
     assigneeIds: string[];
 }
+
+export interface CursorPage<T> {
+    items: T[];
+    nextCursor: string | null;
+}
+
+export interface TaskSearchResult {
+    id: string;
+    title: string;
+    folderId: string;
+    status: TaskStatus;
+    priority: Priority;
+    score: number;
+    snippet?: string;
+}
+
+export type TaskChangeType = 'CREATED' | 'UPDATED' | 'DELETED' | 'ASSIGNEE_ADDED' | 'ASSIGNEE_REMOVED';
+
+export interface TaskChange {
+    type: TaskChangeType;
+    taskId: string;
+    task?: Task;
+    userId?: string;
+}